@@ -0,0 +1,79 @@
+package com.agora.dbaccessor.admission;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.netflix.concurrency.limits.Limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admits requests while the number in flight stays under an adaptive limit
+ * driven by observed latency. Lower priorities only get a share of the limit.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final Limit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<RoutePriority, Counter> shed = new EnumMap<>(RoutePriority.class);
+
+    public AdaptiveConcurrencyLimiter(Limit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+
+        Gauge.builder("agora.admission.limit", limit, Limit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("agora.admission.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+
+        for (RoutePriority priority : RoutePriority.values()) {
+            shed.put(priority, Counter.builder("agora.admission.shed")
+                    .tag("priority", priority.name().toLowerCase())
+                    .description("Requests rejected by admission control")
+                    .register(meterRegistry));
+        }
+    }
+
+    public Optional<Permit> tryAcquire(RoutePriority priority) {
+        int admissionLimit = priority.admissionLimit(limit.getLimit());
+
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= admissionLimit) {
+                shed.get(priority).increment();
+                return Optional.empty();
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(System.nanoTime(), current + 1));
+            }
+        }
+    }
+
+    public final class Permit {
+
+        private final long startTime;
+        private final int inFlightAtStart;
+
+        private Permit(long startTime, int inFlightAtStart) {
+            this.startTime = startTime;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the slot and feeds the request latency to the limit.
+         *
+         * @param dropped whether the request failed in a way that signals overload
+         */
+        public void release(boolean dropped) {
+            inFlight.decrementAndGet();
+            limit.onSample(startTime, System.nanoTime() - startTime, inFlightAtStart, dropped);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.agora.dbaccessor.admission;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fixed concurrency budget for one {@link WorkloadClass}. Callers wait up to
+ * {@code maxWait} for a slot and are rejected after that. Waiting still holds
+ * a Tomcat worker thread, so at most {@code maxQueued} callers wait at once and
+ * the rest are rejected straight away; holders are bounded by
+ * {@code maxExecution} through {@link ExecutionDeadline}. Together these cap
+ * the threads a saturated class can take to {@code maxConcurrent + maxQueued},
+ * for at most {@code maxWait + maxExecution} each.
+ */
+public class Bulkhead {
+
+    private final Duration maxWait;
+    private final int maxQueued;
+    private final Duration maxExecution;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(WorkloadClass workload, int maxConcurrent, Duration maxWait, int maxQueued,
+            Duration maxExecution, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.maxQueued = maxQueued;
+        this.maxExecution = maxExecution;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        String tag = workload.name().toLowerCase();
+        // Gauges observe the semaphore, not this, which is not fully constructed yet.
+        Gauge.builder("agora.bulkhead.active", permits, semaphore -> active(semaphore, maxConcurrent))
+                .tag("workload", tag)
+                .description("Requests holding a bulkhead slot")
+                .register(meterRegistry);
+        Gauge.builder("agora.bulkhead.saturation", permits, semaphore -> (double) active(semaphore, maxConcurrent) / maxConcurrent)
+                .tag("workload", tag)
+                .description("Share of the bulkhead budget in use")
+                .register(meterRegistry);
+        Gauge.builder("agora.bulkhead.queued", permits, Semaphore::getQueueLength)
+                .tag("workload", tag)
+                .description("Requests waiting for a bulkhead slot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("agora.bulkhead.rejected")
+                .tag("workload", tag)
+                .description("Requests rejected for want of a bulkhead slot")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("agora.bulkhead.wait")
+                .tag("workload", tag)
+                .description("Time spent waiting for a bulkhead slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execution budget of a request holding a slot, or empty when unbounded.
+     */
+    public Optional<Duration> maxExecution() {
+        return Optional.ofNullable(maxExecution);
+    }
+
+    public Optional<Permit> tryAcquire() throws InterruptedException {
+        long start = System.nanoTime();
+        // A zero timeout still honours fairness, unlike the untimed tryAcquire.
+        boolean acquired = permits.tryAcquire(0, TimeUnit.NANOSECONDS) || awaitSlot();
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            return Optional.empty();
+        }
+
+        return Optional.of(new Permit());
+    }
+
+    private boolean awaitSlot() throws InterruptedException {
+        try {
+            return waiting.incrementAndGet() <= maxQueued
+                    && permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private static int active(Semaphore permits, int maxConcurrent) {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        /**
+         * Idempotent, since async requests may complete through several listener callbacks.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.agora.dbaccessor.admission;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.mongodb.client.MongoDatabase;
+
+/**
+ * Bounds each operation by what is left of the current request's
+ * {@link ExecutionDeadline}, using the driver's client-side operation timeout.
+ * The timeout covers server selection, connection checkout and execution, and
+ * the server is sent the matching {@code maxTimeMS}, so a query that outlives
+ * its workload's budget is cancelled rather than left holding a Tomcat thread
+ * and a pooled connection.
+ */
+public class DeadlineMongoTemplate extends MongoTemplate {
+
+    public DeadlineMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoDatabase doGetDatabase() {
+        MongoDatabase database = super.doGetDatabase();
+        // A timeout of 0 means none to the driver, so an expired deadline still gets a millisecond.
+        return ExecutionDeadline.remaining()
+                .map(remaining -> database.withTimeout(Math.max(1, remaining.toMillis()), TimeUnit.MILLISECONDS))
+                .orElse(database);
+    }
+}
@@ -0,0 +1,35 @@
+package com.agora.dbaccessor.admission;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Execution budget of the request running on the current thread, started by
+ * the bulkhead filter from its workload's {@code maxExecution} and applied to
+ * every Mongo operation the request issues by {@link DeadlineMongoTemplate}.
+ * Work handed to other threads, such as streamed export bodies, runs without it.
+ */
+public final class ExecutionDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private ExecutionDeadline() {
+    }
+
+    public static void start(Duration budget) {
+        DEADLINE.set(System.nanoTime() + budget.toNanos());
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * @return the time left, negative once the deadline has passed, or empty
+     *         when the current thread has no deadline
+     */
+    public static Optional<Duration> remaining() {
+        Long deadline = DEADLINE.get();
+        return deadline != null ? Optional.of(Duration.ofNanos(deadline - System.nanoTime())) : Optional.empty();
+    }
+}
@@ -0,0 +1,46 @@
+package com.agora.dbaccessor.admission;
+
+import org.springframework.http.HttpMethod;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admission priority of a route. Each priority may only use a share of the
+ * current concurrency limit, so lower priorities are shed first as the
+ * service approaches it.
+ */
+public enum RoutePriority {
+    CRITICAL(1.0),
+    STANDARD(0.9),
+    SHEDDABLE(0.75);
+
+    private final double limitShare;
+
+    RoutePriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    public int admissionLimit(int limit) {
+        return Math.max(1, (int) Math.ceil(limit * limitShare));
+    }
+
+    public static RoutePriority of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+
+        // Session checks and login lookups gate every authenticated page.
+        if (path.startsWith("/sessions")) {
+            return CRITICAL;
+        }
+
+        if (get && path.equals("/users") && request.getParameter("email") != null) {
+            return CRITICAL;
+        }
+
+        if (get && path.equals("/posts")) {
+            return SHEDDABLE;
+        }
+
+        return STANDARD;
+    }
+}
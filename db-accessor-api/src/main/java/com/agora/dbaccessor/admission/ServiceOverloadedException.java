@@ -0,0 +1,26 @@
+package com.agora.dbaccessor.admission;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class ServiceOverloadedException extends ResponseStatusException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Service overloaded, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        return headers;
+    }
+}
@@ -0,0 +1,41 @@
+package com.agora.dbaccessor.admission;
+
+import org.springframework.http.HttpMethod;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Workload a request belongs to for bulkhead isolation. Unlike
+ * {@link RoutePriority}, which decides who is shed first from a shared limit,
+ * each class gets its own budget so saturation in one cannot starve another.
+ */
+public enum WorkloadClass {
+    AUTH,
+    POST_READS,
+    POST_WRITES,
+    ADMIN;
+
+    public static WorkloadClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean get = HttpMethod.GET.matches(request.getMethod());
+
+        if (path.startsWith("/admin")) {
+            return ADMIN;
+        }
+
+        if (path.startsWith("/sessions")) {
+            return AUTH;
+        }
+
+        // Liked posts and authored comments are aggregations over the posts collection,
+        // the notification inbox is read and written alongside the replies that feed it.
+        if (path.startsWith("/users")) {
+            if (path.contains("/notifications")) {
+                return get ? POST_READS : POST_WRITES;
+            }
+            return get && (path.endsWith("/likes") || path.endsWith("/comments")) ? POST_READS : AUTH;
+        }
+
+        return get ? POST_READS : POST_WRITES;
+    }
+}
@@ -0,0 +1,76 @@
+package com.agora.dbaccessor.api.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.agora.dbaccessor.generated.model.ImportReport;
+import com.agora.dbaccessor.service.DataTransferService;
+import com.agora.dbaccessor.transfer.TransferCollection;
+
+@RestController
+@RequestMapping("/admin")
+@Validated
+public class AdminController {
+
+    private static final String GZIP = "gzip";
+
+    private final DataTransferService dataTransferService;
+
+    public AdminController(DataTransferService dataTransferService) {
+        this.dataTransferService = dataTransferService;
+    }
+
+    @GetMapping(value = "/export/{collection}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCollection(
+            @PathVariable String collection,
+            @RequestParam(value = "afterId", required = false) String afterId,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        TransferCollection target = TransferCollection.fromValue(collection);
+
+        StreamingResponseBody body = output -> {
+            if (!gzip) {
+                dataTransferService.exportCollection(target, afterId, output);
+                return;
+            }
+
+            GZIPOutputStream compressed = new GZIPOutputStream(output);
+            dataTransferService.exportCollection(target, afterId, compressed);
+            compressed.finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        return response.body(body);
+    }
+
+    @PostMapping(value = "/import/{collection}", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importCollection(
+            @PathVariable String collection,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        TransferCollection target = TransferCollection.fromValue(collection);
+        InputStream input = GZIP.equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+
+        ImportReport report = dataTransferService.importCollection(target, input);
+        return ResponseEntity.ok(report);
+    }
+}
@@ -18,6 +18,7 @@ import com.agora.dbaccessor.generated.model.CreatePostCommentReplyRequest;
 import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
 import com.agora.dbaccessor.generated.model.CreatePostRequest;
 import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.generated.model.PostCommentReplyPage;
 import com.agora.dbaccessor.generated.model.TogglePostLikeRequest;
 import com.agora.dbaccessor.service.PostService;
 
@@ -42,8 +43,9 @@ public class PostController {
 
     @GetMapping("/{postId}")
     public ResponseEntity<Post> getPost(
-            @PathVariable String postId) {
-        Post post = postService.getPost(postId);
+            @PathVariable String postId,
+            @RequestParam(value = "section", required = false) String section) {
+        Post post = postService.getPost(postId, section);
         return ResponseEntity.ok(post);
     }
 
@@ -84,5 +86,15 @@ public class PostController {
         Post updated = postService.addCommentReply(postId, commentId, request);
         return ResponseEntity.ok(updated);
     }
+
+    @GetMapping("/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<PostCommentReplyPage> listCommentReplies(
+            @PathVariable String postId,
+            @PathVariable String commentId,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        PostCommentReplyPage page = postService.listCommentReplies(postId, commentId, after, limit);
+        return ResponseEntity.ok(page);
+    }
     
 }
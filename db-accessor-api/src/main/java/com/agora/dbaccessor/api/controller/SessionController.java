@@ -45,7 +45,9 @@ public class SessionController {
 
     @PostMapping("/validate")
     public ResponseEntity<User> validateSession(@Valid @RequestBody ValidateSessionRequest request) {
-        User user = sessionService.validateSession(request.getTokenHash());
+        User user = request.getSignedToken() != null && !request.getSignedToken().isBlank()
+                ? sessionService.validateSignedSession(request.getSignedToken())
+                : sessionService.validateSession(request.getTokenHash());
         return ResponseEntity.ok(user);
     }
 }
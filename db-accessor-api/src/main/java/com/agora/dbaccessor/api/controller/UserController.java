@@ -15,8 +15,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.agora.dbaccessor.generated.model.CreateUserRequest;
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadRequest;
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadResult;
+import com.agora.dbaccessor.generated.model.NotificationPage;
+import com.agora.dbaccessor.generated.model.PostSummaryPage;
 import com.agora.dbaccessor.generated.model.User;
+import com.agora.dbaccessor.generated.model.UserCommentPage;
 import com.agora.dbaccessor.generated.model.UserWithPassword;
+import com.agora.dbaccessor.service.NotificationService;
+import com.agora.dbaccessor.service.PostService;
 import com.agora.dbaccessor.service.SessionService;
 import com.agora.dbaccessor.service.UserService;
 
@@ -29,10 +36,18 @@ public class UserController {
 
     private final UserService userService;
     private final SessionService sessionService;
+    private final PostService postService;
+    private final NotificationService notificationService;
 
-    public UserController(UserService userService, SessionService sessionService) {
+    public UserController(
+            UserService userService,
+            SessionService sessionService,
+            PostService postService,
+            NotificationService notificationService) {
         this.userService = userService;
         this.sessionService = sessionService;
+        this.postService = postService;
+        this.notificationService = notificationService;
     }
 
     @PostMapping
@@ -53,6 +68,41 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    @GetMapping("/{userId}/likes")
+    public ResponseEntity<PostSummaryPage> listLikedPosts(
+            @PathVariable String userId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        PostSummaryPage likes = postService.listPostsLikedBy(userId, page, size);
+        return ResponseEntity.ok(likes);
+    }
+
+    @GetMapping("/{userId}/comments")
+    public ResponseEntity<UserCommentPage> listComments(
+            @PathVariable String userId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        UserCommentPage comments = postService.listCommentsBy(userId, page, size);
+        return ResponseEntity.ok(comments);
+    }
+
+    @GetMapping("/{userId}/notifications")
+    public ResponseEntity<NotificationPage> listNotifications(
+            @PathVariable String userId,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        NotificationPage notifications = notificationService.listNotifications(userId, page, size);
+        return ResponseEntity.ok(notifications);
+    }
+
+    @PostMapping("/{userId}/notifications/read")
+    public ResponseEntity<MarkNotificationsReadResult> markNotificationsRead(
+            @PathVariable String userId,
+            @Valid @RequestBody(required = false) MarkNotificationsReadRequest request) {
+        MarkNotificationsReadResult result = notificationService.markRead(userId, request);
+        return ResponseEntity.ok(result);
+    }
+
     @DeleteMapping("/{userId}/sessions")
     public ResponseEntity<Void> deleteUserSessions(@PathVariable String userId) {
         sessionService.deleteSessionsForUser(userId);
@@ -0,0 +1,57 @@
+package com.agora.dbaccessor.api.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.agora.dbaccessor.admission.AdaptiveConcurrencyLimiter;
+import com.agora.dbaccessor.admission.AdaptiveConcurrencyLimiter.Permit;
+import com.agora.dbaccessor.admission.RoutePriority;
+import com.agora.dbaccessor.admission.ServiceOverloadedException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds requests before they queue on the Mongo pool. Rejections are routed
+ * through the MVC exception resolvers so they share the API error format.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Duration retryAfter;
+
+    public AdmissionControlFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            HandlerExceptionResolver exceptionResolver,
+            Duration retryAfter) {
+        this.limiter = limiter;
+        this.exceptionResolver = exceptionResolver;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional<Permit> permit = limiter.tryAcquire(RoutePriority.of(request));
+
+        if (permit.isEmpty()) {
+            exceptionResolver.resolveException(request, response, null, new ServiceOverloadedException(retryAfter));
+            return;
+        }
+
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            permit.get().release(dropped);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.agora.dbaccessor.api.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.agora.dbaccessor.admission.Bulkhead;
+import com.agora.dbaccessor.admission.Bulkhead.Permit;
+import com.agora.dbaccessor.admission.ExecutionDeadline;
+import com.agora.dbaccessor.admission.ServiceOverloadedException;
+import com.agora.dbaccessor.admission.WorkloadClass;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Holds a slot of the request's workload bulkhead for the whole request,
+ * including the asynchronous part of streamed admin exports, and starts the
+ * workload's {@link ExecutionDeadline} on the request thread. Workloads
+ * without a configured budget pass through.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Duration retryAfter;
+
+    public BulkheadFilter(
+            Map<WorkloadClass, Bulkhead> bulkheads,
+            HandlerExceptionResolver exceptionResolver,
+            Duration retryAfter) {
+        this.bulkheads = bulkheads;
+        this.exceptionResolver = exceptionResolver;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheads.get(WorkloadClass.of(request));
+
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<Permit> permit;
+        try {
+            permit = bulkhead.tryAcquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            permit = Optional.empty();
+        }
+
+        if (permit.isEmpty()) {
+            exceptionResolver.resolveException(request, response, null, new ServiceOverloadedException(retryAfter));
+            return;
+        }
+
+        boolean async = false;
+        try {
+            bulkhead.maxExecution().ifPresent(ExecutionDeadline::start);
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit.get()));
+                async = true;
+            }
+        } finally {
+            ExecutionDeadline.clear();
+            if (!async) {
+                permit.get().release();
+            }
+        }
+    }
+
+    private record ReleasingListener(Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
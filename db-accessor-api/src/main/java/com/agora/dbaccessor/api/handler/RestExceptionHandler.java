@@ -1,5 +1,6 @@
 package com.agora.dbaccessor.api.handler;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.agora.dbaccessor.generated.model.ErrorResponse;
+import com.mongodb.MongoOperationTimeoutException;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -22,7 +24,23 @@ public class RestExceptionHandler {
         ErrorResponse errorResponse = new ErrorResponse()
                 .code(status.name())
                 .message(exception.getReason() != null ? exception.getReason() : status.getReasonPhrase());
-        return ResponseEntity.status(status).body(errorResponse);
+        return ResponseEntity.status(status).headers(exception.getHeaders()).body(errorResponse);
+    }
+
+    /**
+     * A Mongo operation that ran out of its workload's execution budget.
+     * Other resource failures keep the default handling.
+     */
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<ErrorResponse> handleDataAccessResourceFailure(DataAccessResourceFailureException exception) {
+        if (!(exception.getCause() instanceof MongoOperationTimeoutException)) {
+            throw exception;
+        }
+
+        ErrorResponse errorResponse = new ErrorResponse()
+                .code(HttpStatus.SERVICE_UNAVAILABLE.name())
+                .message("Request exceeded its execution budget, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,90 @@
+package com.agora.dbaccessor.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Converts a comment tree to the BSON the hot collection would store and
+ * gzips it, so archived posts decode through the same mapping as live ones.
+ */
+@Component
+public class CommentTreeCodec {
+
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final MongoConverter converter;
+    private final Counter rawBytes;
+    private final Counter compressedBytes;
+
+    public CommentTreeCodec(MongoConverter converter, MeterRegistry meterRegistry) {
+        this.converter = converter;
+        this.rawBytes = Counter.builder("agora.posts.archive.comment.bytes")
+                .tag("form", "raw")
+                .baseUnit("bytes")
+                .description("BSON size of archived comment trees before compression")
+                .register(meterRegistry);
+        this.compressedBytes = Counter.builder("agora.posts.archive.comment.bytes")
+                .tag("form", "compressed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public byte[] encode(List<PostCommentDocument> comments) {
+        Document tree = new Document();
+        converter.write(new CommentTree(comments), tree);
+
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            CODEC.encode(writer, tree, EncoderContext.builder().build());
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            buffer.pipe(gzip);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        rawBytes.increment(buffer.getSize());
+        compressedBytes.increment(compressed.size());
+        return compressed.toByteArray();
+    }
+
+    public List<PostCommentDocument> decode(byte[] compressed) {
+        byte[] raw;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            raw = gzip.readAllBytes();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(raw))) {
+            Document tree = CODEC.decode(reader, DecoderContext.builder().build());
+            return converter.read(CommentTree.class, tree).comments();
+        }
+    }
+
+    record CommentTree(List<PostCommentDocument> comments) {
+    }
+}
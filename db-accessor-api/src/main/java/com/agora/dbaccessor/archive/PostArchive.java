@@ -0,0 +1,296 @@
+package com.agora.dbaccessor.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReplaceOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.config.PostArchiveProperties;
+import com.agora.dbaccessor.model.ArchivedPostDocument;
+import com.agora.dbaccessor.model.ArchivedPostDocument.ArchivedCommentEntry;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.repository.ArchivedPostRepository;
+import com.agora.dbaccessor.repository.PostRepository;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.ReplySlice;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.UserCommentProjection;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cold tier for posts that stopped receiving activity. A post lives in exactly
+ * one of {@code posts} and {@code posts_archive} once a move completes; moves
+ * write the destination before removing the source, so readers that fall back
+ * from the hot collection to the archive never miss a post.
+ *
+ * <p>An archive move claims the hot post first and only removes it if the
+ * claim survived; writes replace the post only while it is hot (see
+ * {@code PostRepositoryCustom#replaceIfPresent}) and clear the claim, so
+ * either the write lands on the hot copy and the move is abandoned, or the
+ * move completes and the writer restores the post and retries. Each side
+ * only ever deletes the archive copy it wrote or read itself.
+ */
+@Component
+public class PostArchive {
+
+    private final ArchivedPostRepository archiveRepository;
+    private final PostRepository postRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CommentTreeCodec codec;
+    private final Duration claimTimeout;
+    private final Counter archived;
+    private final Counter restored;
+
+    public PostArchive(
+            ArchivedPostRepository archiveRepository,
+            PostRepository postRepository,
+            MongoTemplate mongoTemplate,
+            CommentTreeCodec codec,
+            PostArchiveProperties properties,
+            MeterRegistry meterRegistry) {
+        this.archiveRepository = archiveRepository;
+        this.postRepository = postRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.codec = codec;
+        this.claimTimeout = properties.claimTimeout();
+        this.archived = Counter.builder("agora.posts.archive.moves")
+                .tag("direction", "archived")
+                .register(meterRegistry);
+        this.restored = Counter.builder("agora.posts.archive.moves")
+                .tag("direction", "restored")
+                .register(meterRegistry);
+    }
+
+    public Optional<PostDocument> findById(String id) {
+        return archiveRepository.findById(id).map(this::toPost);
+    }
+
+    public Optional<PostDocument> findBySourceUrl(String sourceUrl) {
+        return archiveRepository.findBySourceUrl(sourceUrl).map(this::toPost);
+    }
+
+    /**
+     * Every archived post, newest first, with its comment tree decompressed.
+     */
+    public List<PostDocument> findAll() {
+        return archiveRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .stream()
+                .map(this::toPost)
+                .toList();
+    }
+
+    /**
+     * Fills in the content of the archived entries of a per-author listing,
+     * which only the compressed tree holds. Each post on the page is
+     * decompressed once; a post restored since the listing is read hot.
+     */
+    public List<UserCommentProjection> withContent(List<UserCommentProjection> entries) {
+        Map<String, Map<String, String>> contents = new HashMap<>();
+
+        return entries.stream()
+                .map(entry -> !entry.archived() ? entry : new UserCommentProjection(
+                        entry.postId(),
+                        entry.postTitle(),
+                        entry.commentId(),
+                        entry.parentId(),
+                        entry.section(),
+                        contents.computeIfAbsent(entry.postId(), this::contentsById).get(entry.commentId()),
+                        entry.createdAt(),
+                        true))
+                .toList();
+    }
+
+    public boolean existsBySourceUrl(String sourceUrl) {
+        return archiveRepository.existsBySourceUrl(sourceUrl);
+    }
+
+    public boolean isLikedBy(String postId, String userId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(postId).and("likedBy").is(userId)),
+                ArchivedPostDocument.class);
+    }
+
+    /**
+     * Same contract as {@code PostRepositoryCustom#findReplies}, sliced after decompression.
+     */
+    public Optional<ReplySlice> findReplies(String postId, String commentId, String afterReplyId, int limit) {
+        return findById(postId).map(post -> post.comments().stream()
+                .filter(comment -> commentId.equals(comment.id()))
+                .findFirst()
+                .map(comment -> slice(comment.replies(), afterReplyId, limit))
+                .orElseGet(() -> new ReplySlice(false, 0, -1, List.of())));
+    }
+
+    /**
+     * Moves a post back to the hot collection ahead of a write. Returns empty
+     * when the post is not archived. The returned post may already have left
+     * the hot collection again, which callers notice when their conditional
+     * write matches nothing.
+     */
+    public Optional<PostDocument> restore(String id) {
+        Optional<ArchivedPostDocument> archivedPost = archiveRepository.findById(id);
+
+        if (archivedPost.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // A restored post counts as active, so the next archiver run leaves it hot.
+        PostDocument post = withActivity(toPost(archivedPost.get()), Instant.now());
+
+        try {
+            postRepository.insert(post);
+        } catch (DuplicateKeyException exception) {
+            // Restored concurrently or still mid-move: the archive copy belongs to
+            // whoever wrote it, so it is never deleted from here.
+            return Optional.of(postRepository.findById(id).orElse(post));
+        }
+
+        // A copy written by a later move is not ours to delete.
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)
+                .and("archivedAt").is(archivedPost.get().archivedAt())), ArchivedPostDocument.class);
+        restored.increment();
+        return Optional.of(post);
+    }
+
+    /**
+     * Moves a post to the archive unless it changed since it was read, in
+     * which case the post stays hot and any archive copy written for this
+     * move is dropped.
+     */
+    public boolean archive(PostDocument post) {
+        Instant claim = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Criteria unchanged = Criteria.where("_id").is(post.id())
+                .and("updatedAt").is(post.updatedAt())
+                .and("lastActivityAt").is(post.lastActivityAt())
+                .and("likedBy").is(post.likedBy())
+                .and("comments").size(post.comments().size())
+                // A claim older than the timeout was left by an archiver that died mid-move.
+                .orOperator(
+                        Criteria.where(PostDocument.ARCHIVE_CLAIM).exists(false),
+                        Criteria.where(PostDocument.ARCHIVE_CLAIM).lt(claim.minus(claimTimeout)));
+
+        if (mongoTemplate.updateFirst(Query.query(unchanged), new Update().set(PostDocument.ARCHIVE_CLAIM, claim),
+                PostDocument.class).getMatchedCount() == 0) {
+            return false;
+        }
+
+        ArchivedPostDocument copy = new ArchivedPostDocument(
+                post.id(),
+                post.title(),
+                post.summary(),
+                post.sourceUrl(),
+                post.tags(),
+                post.createdAt(),
+                post.updatedAt(),
+                post.likedBy(),
+                post.comments().size(),
+                codec.encode(post.comments()),
+                index(post.comments()),
+                claim);
+
+        try {
+            // Overwrites copies left by earlier moves but never one from a later claim.
+            mongoTemplate.replace(Query.query(Criteria.where("_id").is(post.id()).and("archivedAt").lt(claim)),
+                    copy, ReplaceOptions.replaceOptions().upsert());
+        } catch (DuplicateKeyException exception) {
+            return false;
+        }
+
+        Query claimed = Query.query(Criteria.where("_id").is(post.id()).and(PostDocument.ARCHIVE_CLAIM).is(claim));
+
+        if (mongoTemplate.remove(claimed, PostDocument.class).getDeletedCount() == 0) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(post.id()).and("archivedAt").is(claim)),
+                    ArchivedPostDocument.class);
+            return false;
+        }
+
+        archived.increment();
+        return true;
+    }
+
+    private Map<String, String> contentsById(String postId) {
+        Map<String, String> contents = new HashMap<>();
+
+        findById(postId).or(() -> postRepository.findById(postId)).ifPresent(post -> post.comments().forEach(comment -> {
+            contents.put(comment.id(), comment.content());
+            comment.replies().forEach(reply -> contents.put(reply.id(), reply.content()));
+        }));
+
+        return contents;
+    }
+
+    private static List<ArchivedCommentEntry> index(List<PostCommentDocument> comments) {
+        List<ArchivedCommentEntry> entries = new ArrayList<>();
+
+        for (PostCommentDocument comment : comments) {
+            entries.add(new ArchivedCommentEntry(
+                    comment.id(), null, comment.authorId(), comment.section(), comment.createdAt()));
+            comment.replies().forEach(reply -> entries.add(new ArchivedCommentEntry(
+                    reply.id(), comment.id(), reply.authorId(), comment.section(), reply.createdAt())));
+        }
+
+        return entries;
+    }
+
+    private static PostDocument withActivity(PostDocument post, Instant lastActivityAt) {
+        return new PostDocument(
+                post.id(),
+                post.title(),
+                post.summary(),
+                post.sourceUrl(),
+                post.tags(),
+                post.createdAt(),
+                post.updatedAt(),
+                lastActivityAt,
+                post.likedBy(),
+                post.comments(),
+                post.commentCounts());
+    }
+
+    private PostDocument toPost(ArchivedPostDocument archived) {
+        List<PostCommentDocument> comments = archived.comments() != null ? codec.decode(archived.comments()) : List.of();
+        return new PostDocument(
+                archived.id(),
+                archived.title(),
+                archived.summary(),
+                archived.sourceUrl(),
+                archived.tags(),
+                archived.createdAt(),
+                archived.updatedAt(),
+                null,
+                archived.likedBy(),
+                comments,
+                null);
+    }
+
+    private ReplySlice slice(List<PostCommentReplyDocument> replies, String afterReplyId, int limit) {
+        int cursorIndex = -1;
+
+        if (afterReplyId != null) {
+            for (int i = 0; i < replies.size(); i++) {
+                if (afterReplyId.equals(replies.get(i).id())) {
+                    cursorIndex = i;
+                    break;
+                }
+            }
+        }
+
+        int from = Math.min(cursorIndex + 1, replies.size());
+        int to = Math.min(from + Math.max(1, limit), replies.size());
+        return new ReplySlice(true, replies.size(), cursorIndex, List.copyOf(replies.subList(from, to)));
+    }
+}
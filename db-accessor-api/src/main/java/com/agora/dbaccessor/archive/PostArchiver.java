@@ -0,0 +1,121 @@
+package com.agora.dbaccessor.archive;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.agora.dbaccessor.config.PostArchiveProperties;
+import com.agora.dbaccessor.model.PostDocument;
+
+/**
+ * Periodically moves posts without comment, reply or like activity for
+ * {@code inactiveAfter} to the archive, in batches, until none are left.
+ */
+public class PostArchiver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostArchiver.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final PostArchive postArchive;
+    private final PostArchiveProperties properties;
+
+    public PostArchiver(MongoTemplate mongoTemplate, PostArchive postArchive, PostArchiveProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.postArchive = postArchive;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${agora.posts.archive.interval:10m}", initialDelayString = "${agora.posts.archive.interval:10m}")
+    public void archiveInactivePosts() {
+        Instant threshold = Instant.now().minus(properties.inactiveAfter());
+        Query candidates = candidates(threshold, properties.batchSize());
+        int moved = 0;
+
+        try {
+            backfillActivity();
+
+            while (true) {
+                List<PostDocument> batch = mongoTemplate.find(candidates, PostDocument.class);
+                int movedInBatch = (int) batch.stream().filter(postArchive::archive).count();
+                moved += movedInBatch;
+
+                // A batch where every post changed under us would otherwise be picked again forever.
+                if (batch.size() < properties.batchSize() || movedInBatch == 0) {
+                    break;
+                }
+            }
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Archiving stopped after {} posts, resuming on next run", moved, exception);
+            return;
+        }
+
+        if (moved > 0) {
+            LOGGER.info("Archived {} posts inactive since {}", moved, threshold);
+        }
+    }
+
+    /**
+     * Posts without activity since {@code threshold}, also issued by the query plan guardrail.
+     */
+    public static Query candidates(Instant threshold, int batchSize) {
+        return Query.query(Criteria.where("lastActivityAt").lt(threshold)).limit(batchSize);
+    }
+
+    /**
+     * Posts stored before {@code lastActivityAt} existed, also issued by the query plan guardrail.
+     */
+    public static Query withoutActivity(int batchSize) {
+        Query query = Query.query(Criteria.where("lastActivityAt").exists(false)).limit(batchSize);
+        query.fields().include("updatedAt").include("createdAt");
+        return query;
+    }
+
+    /**
+     * Gives older posts a {@code lastActivityAt} from their last update or
+     * creation. Those are stored as strings with whatever offset and precision
+     * they were written with, so they are parsed here instead of compared in a
+     * query. A post with neither counts as active now.
+     */
+    private void backfillActivity() {
+        Query missing = withoutActivity(properties.batchSize());
+        int filled = 0;
+
+        while (true) {
+            List<PostDocument> batch = mongoTemplate.find(missing, PostDocument.class);
+
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostDocument.class);
+            for (PostDocument post : batch) {
+                OffsetDateTime lastChange = post.updatedAt() != null ? post.updatedAt() : post.createdAt();
+                Instant lastActivityAt = lastChange != null ? lastChange.toInstant() : Instant.now();
+                // A write since the read has set its own value, which wins.
+                operations.updateOne(
+                        Query.query(Criteria.where("_id").is(post.id()).and("lastActivityAt").exists(false)),
+                        new Update().set("lastActivityAt", lastActivityAt));
+            }
+            operations.execute();
+            filled += batch.size();
+
+            if (batch.size() < properties.batchSize()) {
+                break;
+            }
+        }
+
+        if (filled > 0) {
+            LOGGER.info("Recorded the last activity of {} posts stored without one", filled);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for single-replica deployments and tests.
+ */
+public class LocalPostCacheInvalidationBus implements PostCacheInvalidationBus {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String postId) {
+        listeners.forEach(listener -> listener.accept(postId));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
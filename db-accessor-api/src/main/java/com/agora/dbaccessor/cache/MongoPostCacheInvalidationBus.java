@@ -0,0 +1,112 @@
+package com.agora.dbaccessor.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.agora.dbaccessor.model.PostCacheInvalidationDocument;
+import com.agora.dbaccessor.repository.PostCacheInvalidationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Replica-to-replica bus backed by a TTL collection polled by every instance.
+ * Polls overlap instead of tracking a cursor; an invalidation already applied
+ * by the previous poll is skipped so it does not stamp the post again.
+ */
+public class MongoPostCacheInvalidationBus implements PostCacheInvalidationBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoPostCacheInvalidationBus.class);
+
+    private final PostCacheInvalidationRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final Timer propagationLag;
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Instant lastPoll = Instant.now();
+    private Set<String> lastApplied = Set.of();
+
+    public MongoPostCacheInvalidationBus(
+            PostCacheInvalidationRepository repository,
+            MongoTemplate mongoTemplate,
+            Duration pollInterval,
+            Duration retention,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.propagationLag = Timer.builder("agora.posts.cache.invalidation.lag")
+                .description("Delay between an invalidation being published and applied on a peer replica")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void createRetentionIndex() {
+        mongoTemplate.indexOps(PostCacheInvalidationDocument.class)
+                .createIndex(new Index().on("publishedAt", Sort.Direction.ASC).expire(retention));
+    }
+
+    @Override
+    public void publish(String postId) {
+        listeners.forEach(listener -> listener.accept(postId));
+
+        try {
+            repository.save(new PostCacheInvalidationDocument(null, postId, origin, Instant.now()));
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Unable to publish cache invalidation for post {}, peers will rely on expiry", postId, exception);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${agora.posts.cache.invalidation.poll-interval:1s}")
+    void poll() {
+        Instant now = Instant.now();
+        Instant previous = lastPoll;
+        Instant since = previous.minus(pollInterval.multipliedBy(2));
+        Set<String> applied = new HashSet<>();
+
+        for (PostCacheInvalidationDocument invalidation : repository.findByPublishedAtAfter(since)) {
+            if (origin.equals(invalidation.origin())) {
+                continue;
+            }
+
+            applied.add(invalidation.id());
+
+            if (lastApplied.contains(invalidation.id())) {
+                continue;
+            }
+
+            listeners.forEach(listener -> listener.accept(invalidation.postId()));
+
+            if (invalidation.publishedAt().isAfter(previous)) {
+                propagationLag.record(Duration.between(invalidation.publishedAt(), now));
+            }
+        }
+
+        lastApplied = applied;
+        lastPoll = now;
+    }
+}
@@ -0,0 +1,24 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.Optional;
+
+import com.agora.dbaccessor.generated.model.Post;
+
+/**
+ * Default shared tier used when no distributed cache is configured.
+ */
+public class NoOpSharedPostCache implements SharedPostCache {
+
+    @Override
+    public Optional<Post> get(String postId) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(String postId, Post post) {
+    }
+
+    @Override
+    public void evict(String postId) {
+    }
+}
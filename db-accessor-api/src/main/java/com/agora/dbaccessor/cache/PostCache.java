@@ -0,0 +1,273 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import com.agora.dbaccessor.config.PostCacheProperties;
+import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.generated.model.PostComment;
+import com.agora.dbaccessor.generated.model.PostCommentReply;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Two-tier read cache for single posts: a bounded in-process Caffeine tier in
+ * front of a {@link SharedPostCache}. Entries are keyed by post id; source URL
+ * lookups resolve to an id first since a post never changes its source URL.
+ * Concurrent misses for the same key share one load, even with caching
+ * disabled. Every invalidation stamps the post with the next value of a
+ * sequence; a load only serves callers that arrived before the next
+ * invalidation of its post and is only cached when that post was not
+ * invalidated since the load started, so neither coalescing nor caching
+ * hides a write and writes to one post never disturb loads of another.
+ * Cached and shared posts are never handed out: every caller gets its own
+ * copy to mutate.
+ */
+public class PostCache {
+
+    private final boolean enabled;
+    private final Cache<String, CachedPost> posts;
+    private final Cache<String, String> postIdsBySourceUrl;
+    private final SharedPostCache sharedCache;
+    private final PostCacheInvalidationBus invalidationBus;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<String, Long> versions;
+    private final long versionRetentionNanos;
+    private final Timer entryAge;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final SingleFlight<FlightKey, Post> loadsById;
+    private final SingleFlight<FlightKey, Post> loadsBySourceUrl;
+
+    public PostCache(
+            PostCacheProperties properties,
+            SharedPostCache sharedCache,
+            PostCacheInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.postIdsBySourceUrl = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .build();
+        // A load that outlives the retention is not cached, so it never misses an expired stamp.
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build();
+        this.versionRetentionNanos = properties.expireAfterWrite().toNanos();
+        this.sharedCache = sharedCache;
+        this.invalidationBus = invalidationBus;
+        this.entryAge = Timer.builder("agora.posts.cache.entry.age")
+                .description("Age of the cached post served on a local hit")
+                .register(meterRegistry);
+        this.sharedHits = Counter.builder("agora.posts.cache.shared")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder("agora.posts.cache.shared")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        this.loadsById = new SingleFlight<>("posts.id", meterRegistry);
+        this.loadsBySourceUrl = new SingleFlight<>("posts.source-url", meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, posts, "posts");
+        invalidationBus.subscribe(this::evictLocal);
+    }
+
+    public Post getById(String postId, Supplier<Post> loader) {
+        if (postId == null) {
+            return loader.get();
+        }
+
+        if (!enabled) {
+            return copy(loadsById.execute(new FlightKey(postId, version(postId)), loader));
+        }
+
+        return copy(lookup(postId).orElseGet(() -> load(loadsById, postId, postId, loader)));
+    }
+
+    public Post getBySourceUrl(String sourceUrl, Supplier<Post> loader) {
+        if (sourceUrl == null) {
+            return loader.get();
+        }
+
+        String postId = postIdsBySourceUrl.getIfPresent(sourceUrl);
+
+        if (!enabled) {
+            Post post = loadsBySourceUrl.execute(new FlightKey(sourceUrl, flightVersion(postId)), loader);
+            rememberSourceUrl(post);
+            return copy(post);
+        }
+
+        return copy(Optional.ofNullable(postId)
+                .flatMap(this::lookup)
+                .orElseGet(() -> load(loadsBySourceUrl, sourceUrl, postId, loader)));
+    }
+
+    /**
+     * Drops the post from every tier and notifies the other replicas.
+     */
+    public void invalidate(String postId) {
+        if (postId == null) {
+            return;
+        }
+
+        // Stamped before the shared eviction so a racing load re-checks and backs out its put.
+        stamp(postId);
+
+        if (!enabled) {
+            return;
+        }
+
+        sharedCache.evict(postId);
+        invalidationBus.publish(postId);
+    }
+
+    private Optional<Post> lookup(String postId) {
+        CachedPost cached = posts.getIfPresent(postId);
+
+        if (cached != null) {
+            entryAge.record(System.nanoTime() - cached.cachedAt(), TimeUnit.NANOSECONDS);
+            return Optional.of(cached.post());
+        }
+
+        Optional<Post> shared = sharedCache.get(postId);
+
+        if (shared.isPresent()) {
+            sharedHits.increment();
+            posts.put(postId, new CachedPost(shared.get(), System.nanoTime()));
+        } else {
+            sharedMisses.increment();
+        }
+
+        return shared;
+    }
+
+    private Post load(SingleFlight<FlightKey, Post> flights, String key, String knownPostId, Supplier<Post> loader) {
+        long startedAt = System.nanoTime();
+        long started = sequence.get();
+        Post post = flights.execute(new FlightKey(key, flightVersion(knownPostId)), loader);
+
+        if (post == null || post.getId() == null || System.nanoTime() - startedAt >= versionRetentionNanos) {
+            return post;
+        }
+
+        String postId = post.getId();
+        // Checked inside the entry's compute so an invalidation cannot land between the check and the put.
+        posts.asMap().compute(postId, (id, existing) -> unchangedSince(id, started)
+                ? new CachedPost(post, System.nanoTime())
+                : existing);
+
+        if (unchangedSince(postId, started)) {
+            sharedCache.put(postId, post);
+
+            if (!unchangedSince(postId, started)) {
+                sharedCache.evict(postId);
+            }
+        }
+
+        rememberSourceUrl(post);
+        return post;
+    }
+
+    private void rememberSourceUrl(Post post) {
+        if (post != null && post.getId() != null && post.getSourceUrl() != null) {
+            postIdsBySourceUrl.put(post.getSourceUrl().toString(), post.getId());
+        }
+    }
+
+    private void evictLocal(String postId) {
+        stamp(postId);
+        posts.invalidate(postId);
+    }
+
+    private void stamp(String postId) {
+        versions.asMap().merge(postId, sequence.incrementAndGet(), Math::max);
+    }
+
+    private long version(String postId) {
+        Long version = versions.getIfPresent(postId);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * A source URL seen for the first time has no post id to version yet, so
+     * its flight is keyed on the whole sequence instead.
+     */
+    private long flightVersion(String postId) {
+        return postId != null ? version(postId) : -sequence.get() - 1;
+    }
+
+    private boolean unchangedSince(String postId, long started) {
+        return version(postId) <= started;
+    }
+
+    private static Post copy(Post post) {
+        if (post == null) {
+            return null;
+        }
+
+        return new Post()
+                .id(post.getId())
+                .title(post.getTitle())
+                .summary(post.getSummary())
+                .sourceUrl(post.getSourceUrl())
+                .tags(copyOf(post.getTags()))
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .likedBy(copyOf(post.getLikedBy()))
+                .comments(post.getComments() != null
+                        ? post.getComments().stream().map(PostCache::copy).collect(Collectors.toCollection(ArrayList::new))
+                        : null)
+                .commentCounts(post.getCommentCounts() != null ? new HashMap<>(post.getCommentCounts()) : null);
+    }
+
+    private static PostComment copy(PostComment comment) {
+        return new PostComment()
+                .id(comment.getId())
+                .section(comment.getSection())
+                .authorId(comment.getAuthorId())
+                .authorName(comment.getAuthorName())
+                .content(comment.getContent())
+                .createdAt(comment.getCreatedAt())
+                .replies(comment.getReplies() != null
+                        ? comment.getReplies().stream().map(PostCache::copy).collect(Collectors.toCollection(ArrayList::new))
+                        : null)
+                .replyCount(comment.getReplyCount())
+                .repliesCursor(comment.getRepliesCursor());
+    }
+
+    private static PostCommentReply copy(PostCommentReply reply) {
+        return new PostCommentReply()
+                .id(reply.getId())
+                .parentId(reply.getParentId())
+                .authorId(reply.getAuthorId())
+                .authorName(reply.getAuthorName())
+                .content(reply.getContent())
+                .createdAt(reply.getCreatedAt());
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
+    private record CachedPost(Post post, long cachedAt) {
+    }
+
+    private record FlightKey(String key, long version) {
+    }
+}
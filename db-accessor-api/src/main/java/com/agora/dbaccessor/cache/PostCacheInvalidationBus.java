@@ -0,0 +1,13 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Propagates post invalidations to every replica, including the publishing one.
+ */
+public interface PostCacheInvalidationBus {
+
+    void publish(String postId);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,18 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.Optional;
+
+import com.agora.dbaccessor.generated.model.Post;
+
+/**
+ * Second cache tier shared between replicas (Redis, Memcached, ...).
+ * Implementations must tolerate outages by behaving as a miss.
+ */
+public interface SharedPostCache {
+
+    Optional<Post> get(String postId);
+
+    void put(String postId, Post post);
+
+    void evict(String postId);
+}
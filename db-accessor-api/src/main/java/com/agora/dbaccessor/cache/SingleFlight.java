@@ -0,0 +1,70 @@
+package com.agora.dbaccessor.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs
+ * the loader and every caller arriving before it finishes gets the same
+ * result or exception. Nothing is retained once the load completes, so this
+ * never serves data older than an in-flight read.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("agora.singleflight.loads")
+                .tag("name", name)
+                .description("Loads executed on behalf of one or more callers")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("agora.singleflight.coalesced")
+                .tag("name", name)
+                .description("Callers served by a load already in flight")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.agora.dbaccessor.admission.AdaptiveConcurrencyLimiter;
+import com.agora.dbaccessor.api.filter.AdmissionControlFilter;
+import com.netflix.concurrency.limits.Limit;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limit.VegasLimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.admission.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            AdmissionControlProperties properties,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(limit(properties), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            AdmissionControlProperties properties,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(limiter, exceptionResolver, properties.retryAfter()));
+        registration.addUrlPatterns("/posts", "/posts/*", "/users", "/users/*", "/sessions", "/sessions/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private Limit limit(AdmissionControlProperties properties) {
+        return switch (properties.algorithm()) {
+            case GRADIENT -> Gradient2Limit.newBuilder()
+                    .initialLimit(properties.initialLimit())
+                    .minLimit(properties.minLimit())
+                    .maxConcurrency(properties.maxLimit())
+                    .build();
+            case VEGAS -> VegasLimit.newBuilder()
+                    .initialLimit(properties.initialLimit())
+                    .maxConcurrency(properties.maxLimit())
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("gradient") Algorithm algorithm,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1s") Duration retryAfter) {
+
+    public enum Algorithm {
+        GRADIENT,
+        VEGAS
+    }
+}
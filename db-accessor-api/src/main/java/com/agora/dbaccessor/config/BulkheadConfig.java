@@ -0,0 +1,43 @@
+package com.agora.dbaccessor.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.agora.dbaccessor.admission.Bulkhead;
+import com.agora.dbaccessor.admission.WorkloadClass;
+import com.agora.dbaccessor.api.filter.BulkheadFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BulkheadConfig {
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            BulkheadProperties properties,
+            MeterRegistry meterRegistry,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+        properties.workloads().forEach((workload, budget) -> bulkheads.put(workload,
+                new Bulkhead(workload, budget.maxConcurrent(), budget.maxWait(), budget.maxQueued(),
+                        budget.maxExecution(), meterRegistry)));
+
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(bulkheads, exceptionResolver, properties.retryAfter()));
+        registration.addUrlPatterns("/posts", "/posts/*", "/users", "/users/*", "/sessions", "/sessions/*", "/admin/*");
+        // Ahead of admission control, so a saturated workload is turned away before taking a shared slot.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
@@ -0,0 +1,31 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.agora.dbaccessor.admission.WorkloadClass;
+
+@ConfigurationProperties("agora.bulkheads")
+public record BulkheadProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration retryAfter,
+        Map<WorkloadClass, Budget> workloads) {
+
+    public BulkheadProperties {
+        workloads = workloads != null ? Map.copyOf(workloads) : Map.of();
+    }
+
+    /**
+     * @param maxExecution bound on the Mongo operations of a request holding a
+     *        slot; unset leaves them to the driver's own timeouts
+     */
+    public record Budget(
+            @DefaultValue("20") int maxConcurrent,
+            @DefaultValue("100ms") Duration maxWait,
+            @DefaultValue("20") int maxQueued,
+            Duration maxExecution) {
+    }
+}
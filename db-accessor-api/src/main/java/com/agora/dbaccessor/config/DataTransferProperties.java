@@ -0,0 +1,12 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.admin.transfer")
+public record DataTransferProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("30m") Duration exportTimeout) {
+}
@@ -0,0 +1,36 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.likes.LikeWriteBehindBuffer;
+import com.agora.dbaccessor.repository.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.posts.likes.write-behind.enabled", havingValue = "true")
+public class LikeWriteBehindConfig {
+
+    @Bean
+    public LikeWriteBehindBuffer likeWriteBehindBuffer(
+            LikeWriteBehindProperties properties,
+            PostRepository postRepository,
+            PostArchive postArchive,
+            PostCache postCache,
+            MeterRegistry meterRegistry) {
+        return new LikeWriteBehindBuffer(postRepository, postArchive, postCache, properties.stripes(), meterRegistry);
+    }
+
+    /**
+     * Flushes on the bound interval, so its default lives in the properties only.
+     */
+    @Bean
+    public SchedulingConfigurer likeWriteBehindFlushSchedule(LikeWriteBehindBuffer buffer, LikeWriteBehindProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(buffer::flush, properties.flushInterval());
+    }
+}
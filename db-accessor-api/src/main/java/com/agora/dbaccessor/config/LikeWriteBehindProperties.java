@@ -0,0 +1,13 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.posts.likes.write-behind")
+public record LikeWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("64") int stripes) {
+}
@@ -4,11 +4,18 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 
+import com.agora.dbaccessor.admission.DeadlineMongoTemplate;
+import com.agora.dbaccessor.index.QueryCapture;
+
 @Configuration
 public class MongoConfig {
 
@@ -33,4 +40,29 @@ public class MongoConfig {
         converters.add(new StringToOffsetDateTimeConverter());
         return new MongoCustomConversions(converters);
     }
+
+    /**
+     * Replaces the auto-configured template so Mongo operations honour the
+     * per-workload execution budget started by the bulkhead filter.
+     */
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new DeadlineMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer queryCaptureCustomizer(MongoIndexProperties properties, QueryCapture queryCapture) {
+        return builder -> {
+            if (properties.planGuardrail()) {
+                builder.addCommandListener(queryCapture);
+            }
+        };
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer minimumPoolSizeCustomizer(WarmupProperties warmupProperties) {
+        // Keeps the connections opened during warmup alive once traffic is idle.
+        return builder -> builder.applyToConnectionPoolSettings(
+                pool -> pool.minSize(Math.max(0, warmupProperties.mongoConnections())));
+    }
 }
@@ -0,0 +1,11 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.mongo.indexes")
+public record MongoIndexProperties(
+        @DefaultValue("true") boolean createOnStartup,
+        // Only the query-plans integration test turns the guardrail on.
+        @DefaultValue("false") boolean planGuardrail) {
+}
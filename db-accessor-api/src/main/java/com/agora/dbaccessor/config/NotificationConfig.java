@@ -0,0 +1,33 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import com.agora.dbaccessor.notifications.NotificationQueue;
+import com.agora.dbaccessor.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationConfig {
+
+    @Bean
+    public NotificationQueue notificationQueue(
+            NotificationProperties properties,
+            NotificationRepository notificationRepository,
+            MeterRegistry meterRegistry) {
+        return new NotificationQueue(notificationRepository, properties.queueCapacity(), properties.batchSize(),
+                meterRegistry);
+    }
+
+    /**
+     * Flushes on the bound interval, so its default lives in the properties only.
+     */
+    @Bean
+    public SchedulingConfigurer notificationFlushSchedule(NotificationQueue notificationQueue, NotificationProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(notificationQueue::flush, properties.flushInterval());
+    }
+}
@@ -0,0 +1,14 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.notifications")
+public record NotificationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("100ms") Duration flushInterval) {
+}
@@ -0,0 +1,10 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.pagination")
+public record PaginationProperties(
+        @DefaultValue("20") int defaultPageSize,
+        @DefaultValue("100") int maxPageSize) {
+}
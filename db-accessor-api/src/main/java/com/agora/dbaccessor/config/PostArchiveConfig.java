@@ -0,0 +1,22 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.archive.PostArchiver;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.posts.archive.enabled", havingValue = "true")
+public class PostArchiveConfig {
+
+    @Bean
+    public PostArchiver postArchiver(
+            MongoTemplate mongoTemplate,
+            PostArchive postArchive,
+            PostArchiveProperties properties) {
+        return new PostArchiver(mongoTemplate, postArchive, properties);
+    }
+}
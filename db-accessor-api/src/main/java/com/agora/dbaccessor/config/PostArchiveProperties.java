@@ -0,0 +1,15 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.posts.archive")
+public record PostArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30d") Duration inactiveAfter,
+        @DefaultValue("10m") Duration interval,
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("5m") Duration claimTimeout) {
+}
@@ -0,0 +1,57 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.agora.dbaccessor.cache.LocalPostCacheInvalidationBus;
+import com.agora.dbaccessor.cache.MongoPostCacheInvalidationBus;
+import com.agora.dbaccessor.cache.NoOpSharedPostCache;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.cache.PostCacheInvalidationBus;
+import com.agora.dbaccessor.cache.SharedPostCache;
+import com.agora.dbaccessor.repository.PostCacheInvalidationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class PostCacheConfig {
+
+    @Bean
+    public PostCache postCache(
+            PostCacheProperties properties,
+            SharedPostCache sharedPostCache,
+            PostCacheInvalidationBus postCacheInvalidationBus,
+            MeterRegistry meterRegistry) {
+        return new PostCache(properties, sharedPostCache, postCacheInvalidationBus, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedPostCache sharedPostCache() {
+        return new NoOpSharedPostCache();
+    }
+
+    /**
+     * Branches on the bound enum rather than the raw property so {@code MONGO}
+     * and {@code mongo} select the same transport.
+     */
+    @Bean
+    public PostCacheInvalidationBus postCacheInvalidationBus(
+            PostCacheProperties properties,
+            PostCacheInvalidationRepository repository,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry) {
+        if (properties.invalidation().transport() == PostCacheProperties.Transport.LOCAL) {
+            return new LocalPostCacheInvalidationBus();
+        }
+
+        return new MongoPostCacheInvalidationBus(
+                repository,
+                mongoTemplate,
+                properties.invalidation().pollInterval(),
+                properties.invalidation().retention(),
+                meterRegistry);
+    }
+}
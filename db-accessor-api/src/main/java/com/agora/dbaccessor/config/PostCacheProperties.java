@@ -0,0 +1,25 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.posts.cache")
+public record PostCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("60s") Duration expireAfterWrite,
+        @DefaultValue Invalidation invalidation) {
+
+    public enum Transport {
+        LOCAL,
+        MONGO
+    }
+
+    public record Invalidation(
+            @DefaultValue("local") Transport transport,
+            @DefaultValue("1s") Duration pollInterval,
+            @DefaultValue("10m") Duration retention) {
+    }
+}
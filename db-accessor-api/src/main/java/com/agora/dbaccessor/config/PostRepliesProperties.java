@@ -0,0 +1,11 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.posts.replies")
+public record PostRepliesProperties(
+        @DefaultValue("20") int inlineLimit,
+        @DefaultValue("20") int defaultPageSize,
+        @DefaultValue("100") int maxPageSize) {
+}
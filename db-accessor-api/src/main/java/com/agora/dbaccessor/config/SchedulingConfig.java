@@ -0,0 +1,12 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// The bench tools run the application context against a shared database; they must not flush, archive or poll it.
+@Configuration
+@Profile("!synthetic-data & !load-test & !codec-comparison")
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,45 @@
+package com.agora.dbaccessor.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.agora.dbaccessor.repository.SessionRevocationRepository;
+import com.agora.dbaccessor.session.SessionRevocationList;
+import com.agora.dbaccessor.session.SessionTokenSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "agora.sessions.signed.enabled", havingValue = "true")
+public class SignedSessionConfig {
+
+    private static final int MINIMUM_SECRET_BYTES = 32;
+
+    @Bean
+    public SessionTokenSigner sessionTokenSigner(SignedSessionProperties properties, ObjectMapper objectMapper) {
+        byte[] secret = properties.secret() != null ? properties.secret().getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        if (secret.length < MINIMUM_SECRET_BYTES) {
+            throw new IllegalStateException(
+                    "agora.sessions.signed.secret must be at least " + MINIMUM_SECRET_BYTES + " bytes when signed sessions are enabled");
+        }
+
+        return new SessionTokenSigner(secret, objectMapper);
+    }
+
+    @Bean
+    public SessionRevocationList sessionRevocationList(
+            SignedSessionProperties properties,
+            SessionRevocationRepository repository,
+            MeterRegistry meterRegistry) {
+        return new SessionRevocationList(
+                repository,
+                properties.revocationRefreshInterval(),
+                properties.revocationMaxStaleness(),
+                meterRegistry);
+    }
+}
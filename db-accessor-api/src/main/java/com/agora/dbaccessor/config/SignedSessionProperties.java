@@ -0,0 +1,14 @@
+package com.agora.dbaccessor.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.sessions.signed")
+public record SignedSessionProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @DefaultValue("1s") Duration revocationRefreshInterval,
+        @DefaultValue("30s") Duration revocationMaxStaleness) {
+}
@@ -0,0 +1,15 @@
+package com.agora.dbaccessor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param iterations passes over the mapping and serialisation paths; 0 sizes
+ *        them from the JVM's C2 compile threshold
+ */
+@ConfigurationProperties("agora.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0") int iterations,
+        @DefaultValue("10") int mongoConnections) {
+}
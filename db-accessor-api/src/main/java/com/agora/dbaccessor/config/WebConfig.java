@@ -0,0 +1,67 @@
+package com.agora.dbaccessor.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Binary Jackson converters built from the application's object mapper
+ * builder, so they share its modules and date handling with JSON.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final String EXPORT_PATH = "/admin/export/";
+
+    private final DataTransferProperties transferProperties;
+
+    public WebConfig(DataTransferProperties transferProperties) {
+        this.transferProperties = transferProperties;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Exports stream a whole collection, so only they get the long async
+     * timeout; every other async request keeps the container default.
+     * Imports read the request body synchronously and are not subject to it.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        long exportTimeout = transferProperties.exportTimeout().toMillis();
+
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Runs before the async context starts, which is when the timeout is applied.
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getNativeRequest() instanceof HttpServletRequest servletRequest
+                        && servletRequest.getRequestURI().startsWith(servletRequest.getContextPath() + EXPORT_PATH)) {
+                    asyncRequest.setTimeout(exportTimeout);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.agora.dbaccessor.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.config.MongoIndexProperties;
+
+/**
+ * Creates the indexes declared on the {@code @Document} types before the
+ * application reports ready. Replaces Spring Data's lazy auto index creation,
+ * which created indexes on first entity access and hid failures in the logs.
+ * Runners are skipped when the context exits on refresh, so AOT and CDS
+ * training runs never touch the database. A unique index that existing
+ * documents violate is skipped with the conflicting values logged, so the
+ * application still starts and the duplicates can be cleaned up.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoIndexInitializer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexProperties properties;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate, MongoIndexProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.createOnStartup()) {
+            LOGGER.info("Index creation on startup is disabled");
+            return;
+        }
+
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        IndexResolver indexResolver = IndexResolver.create(mappingContext);
+        int created = 0;
+        int skipped = 0;
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+
+            for (IndexDefinition index : indexResolver.resolveIndexFor(entity.getTypeInformation())) {
+                try {
+                    indexOps.createIndex(index);
+                    created++;
+                } catch (DuplicateKeyException exception) {
+                    LOGGER.error("Skipped unique index {} on {}: documents already share {}. Remove the duplicates and restart to enforce it",
+                            index.getIndexKeys().toJson(), entity.getCollection(), duplicates(entity.getCollection(), index));
+                    skipped++;
+                }
+            }
+        }
+
+        LOGGER.info("Ensured {} declared indexes, skipped {}", created, skipped);
+    }
+
+    /**
+     * Up to ten key values held by more than one document. Documents missing a
+     * key are left out, as a sparse index would.
+     */
+    private List<Document> duplicates(String collection, IndexDefinition index) {
+        Document present = new Document();
+        Document key = new Document();
+        index.getIndexKeys().keySet().forEach(field -> {
+            present.append(field, new Document("$exists", true));
+            key.append(field.replace('.', '_'), "$" + field);
+        });
+
+        return mongoTemplate.getCollection(collection).aggregate(List.of(
+                        new Document("$match", present),
+                        new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1))),
+                        new Document("$match", new Document("count", new Document("$gt", 1))),
+                        new Document("$limit", 10)))
+                .allowDiskUse(true)
+                .into(new ArrayList<>());
+    }
+}
@@ -0,0 +1,49 @@
+package com.agora.dbaccessor.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Records the query commands the current thread sends while
+ * {@link #capture} runs, so the plan guardrail explains exactly what the
+ * repositories issue. Registered on the client only when the guardrail is on;
+ * commands from other threads are never recorded.
+ */
+@Component
+public class QueryCapture implements CommandListener {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    private final ThreadLocal<List<BsonDocument>> captured = new ThreadLocal<>();
+
+    public List<BsonDocument> capture(Runnable action) {
+        List<BsonDocument> commands = new ArrayList<>();
+        captured.set(commands);
+
+        try {
+            action.run();
+        } finally {
+            captured.remove();
+        }
+
+        return commands;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        List<BsonDocument> commands = captured.get();
+
+        if (commands != null && QUERY_COMMANDS.contains(event.getCommandName())) {
+            // The event only owns the document for the duration of the callback.
+            commands.add(event.getCommand().clone());
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.agora.dbaccessor.index;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.archive.PostArchiver;
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.repository.ArchivedPostRepository;
+import com.agora.dbaccessor.repository.NotificationRepository;
+import com.agora.dbaccessor.repository.PostRepository;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.LikeChanges;
+import com.agora.dbaccessor.repository.SessionRepository;
+import com.agora.dbaccessor.repository.SessionRevocationRepository;
+import com.agora.dbaccessor.repository.UserRepository;
+import com.agora.dbaccessor.service.impl.DataTransferServiceImpl;
+import com.agora.dbaccessor.transfer.TransferCollection;
+import com.mongodb.client.model.UpdateOneModel;
+
+/**
+ * Runs the repository queries with probe arguments, captures the commands
+ * they send through {@link QueryCapture}, explains each one and reports every
+ * plan that still contains a collection scan or an in-memory sort. Probes
+ * match nothing, so the writes among them change no document; upserts, which
+ * would insert, are explained without being sent. Only enabled for the
+ * {@code query-plans} integration test, never on a serving instance. Keep
+ * {@link #probes()} in step with new repository methods.
+ */
+@Component
+@ConditionalOnProperty(name = "agora.mongo.indexes.plan-guardrail", havingValue = "true")
+public class QueryPlanGuardrail {
+
+    private static final Set<String> REJECTED_STAGES = Set.of("COLLSCAN", "SORT", "$sort");
+    /**
+     * Stages accepted for one probe, each for a stated reason. Both listings
+     * merge the hot and archived tiers, which no single index can order.
+     */
+    private static final Map<String, Set<String>> ACCEPTED_STAGES = Map.of(
+            // Sorts at most two windows of skip + limit summaries, one per tier.
+            "PostRepository.findLikedBy", Set.of("$sort"),
+            // Sorts every entry of the author, spilling to disk past the in-memory limit.
+            "PostRepository.findCommentsBy", Set.of("$sort"));
+    // Session, transaction and write concern fields that explain rejects or ignores.
+    private static final Set<String> GENERIC_FIELDS = Set.of(
+            "lsid", "txnNumber", "autocommit", "startTransaction", "writeConcern");
+    private static final Map<String, String> STATEMENTS = Map.of("update", "updates", "delete", "deletes");
+    private static final String PROBE = "query-plan-guardrail";
+    private static final String PROBE_ID = new ObjectId(0, 0).toHexString();
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryCapture queryCapture;
+    private final PostRepository postRepository;
+    private final ArchivedPostRepository archivedPostRepository;
+    private final NotificationRepository notificationRepository;
+    private final SessionRepository sessionRepository;
+    private final SessionRevocationRepository sessionRevocationRepository;
+    private final UserRepository userRepository;
+
+    public QueryPlanGuardrail(
+            MongoTemplate mongoTemplate,
+            QueryCapture queryCapture,
+            PostRepository postRepository,
+            ArchivedPostRepository archivedPostRepository,
+            NotificationRepository notificationRepository,
+            SessionRepository sessionRepository,
+            SessionRevocationRepository sessionRevocationRepository,
+            UserRepository userRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryCapture = queryCapture;
+        this.postRepository = postRepository;
+        this.archivedPostRepository = archivedPostRepository;
+        this.notificationRepository = notificationRepository;
+        this.sessionRepository = sessionRepository;
+        this.sessionRevocationRepository = sessionRevocationRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Runs every probe and lists the commands whose plan is rejected.
+     */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+
+        probes().forEach((name, probe) -> {
+            List<BsonDocument> commands = probe.get();
+
+            if (commands.isEmpty()) {
+                violations.add(name + " issued no query");
+            }
+
+            for (BsonDocument command : commands) {
+                for (BsonDocument explainable : explainable(command)) {
+                    Document explain = mongoTemplate.getDb()
+                            .runCommand(new Document("explain", explainable).append("verbosity", "queryPlanner"));
+                    Set<String> stages = new TreeSet<>();
+                    collectStages(explain, false, stages);
+                    stages.retainAll(REJECTED_STAGES);
+                    stages.removeAll(ACCEPTED_STAGES.getOrDefault(name, Set.of()));
+
+                    if (!stages.isEmpty()) {
+                        violations.add(name + " " + command.getFirstKey() + " " + stages);
+                    }
+                }
+            }
+        });
+
+        return violations;
+    }
+
+    private Map<String, Supplier<List<BsonDocument>>> probes() {
+        Map<String, Supplier<List<BsonDocument>>> probes = new LinkedHashMap<>();
+
+        probes.put("PostRepository.findBySourceUrl", issued(() -> postRepository.findBySourceUrl(PROBE)));
+        probes.put("PostRepository.existsBySourceUrl", issued(() -> postRepository.existsBySourceUrl(PROBE)));
+        probes.put("PostRepository.findByIdWithReplyLimit", issued(() -> postRepository.findByIdWithReplyLimit(PROBE_ID, 1)));
+        probes.put("PostRepository.findBySourceUrlWithReplyLimit", issued(() -> postRepository.findBySourceUrlWithReplyLimit(PROBE, 1)));
+        probes.put("PostRepository.findByIdInSection", issued(() -> postRepository.findByIdInSection(
+                PROBE_ID, PostCommentSection.AVIS.getValue(), 1)));
+        probes.put("PostRepository.findReplies", issued(() -> postRepository.findReplies(PROBE_ID, PROBE, PROBE, 1)));
+        // listPosts reads the whole collection; one page has the same filter and sort.
+        probes.put("PostService.listPosts", issued(() -> postRepository.findAll(
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt")))));
+        probes.put("PostRepository.findLikedBy", issued(() -> postRepository.findLikedBy(PROBE, 0, 1)));
+        probes.put("PostRepository.findCommentsBy", issued(() -> postRepository.findCommentsBy(PROBE, 0, 1)));
+        probes.put("PostRepository.isLikedBy", issued(() -> postRepository.isLikedBy(PROBE_ID, PROBE)));
+        probes.put("PostRepository.applyLikeChanges", issued(() -> postRepository.applyLikeChanges(
+                List.of(new LikeChanges(PROBE_ID, Set.of(PROBE), Set.of(PROBE))))));
+        probes.put("PostArchiver.archiveInactivePosts", issued(() -> mongoTemplate.find(
+                PostArchiver.candidates(Instant.EPOCH, 1), PostDocument.class)));
+        probes.put("PostArchiver.backfillActivity", issued(() -> mongoTemplate.find(
+                PostArchiver.withoutActivity(1), PostDocument.class)));
+        probes.put("PostArchive.findAll", issued(() -> archivedPostRepository.findAll(
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "createdAt")))));
+        probes.put("ArchivedPostRepository.findBySourceUrl", issued(() -> archivedPostRepository.findBySourceUrl(PROBE)));
+        probes.put("ArchivedPostRepository.existsBySourceUrl", issued(() -> archivedPostRepository.existsBySourceUrl(PROBE)));
+        probes.put("NotificationRepository.findByRecipient", issued(() -> notificationRepository.findByRecipient(PROBE, 0, 1)));
+        probes.put("NotificationRepository.markRead", issued(() -> notificationRepository.markRead(PROBE, List.of(PROBE_ID))));
+        probes.put("NotificationRepository.markAllRead", issued(() -> notificationRepository.markAllRead(PROBE)));
+        probes.put("NotificationRepository.unreadCount", issued(() -> notificationRepository.unreadCount(PROBE)));
+        probes.put("SessionRepository.findByTokenHash", issued(() -> sessionRepository.findByTokenHash(PROBE)));
+        probes.put("SessionRepository.deleteByTokenHash", issued(() -> sessionRepository.deleteByTokenHash(PROBE)));
+        probes.put("SessionRepository.findByUserId", issued(() -> sessionRepository.findByUserId(PROBE)));
+        probes.put("SessionRepository.deleteByUserId", issued(() -> sessionRepository.deleteByUserId(PROBE)));
+        probes.put("SessionRevocationRepository.findByRevokedAtAfter",
+                issued(() -> sessionRevocationRepository.findByRevokedAtAfter(Instant.now())));
+        probes.put("SessionRevocationRepository.findByExpiresAtAfter",
+                issued(() -> sessionRevocationRepository.findByExpiresAtAfter(Instant.now())));
+        probes.put("UserRepository.findByEmail", issued(() -> userRepository.findByEmail(PROBE)));
+        Arrays.stream(TransferCollection.values()).forEach(collection -> probes.put(
+                "DataTransferService.importCollection " + collection.collectionName(), unsent(importUpsert(collection))));
+
+        return probes;
+    }
+
+    private Supplier<List<BsonDocument>> issued(Runnable probe) {
+        return () -> queryCapture.capture(probe);
+    }
+
+    private static Supplier<List<BsonDocument>> unsent(BsonDocument command) {
+        return () -> List.of(command);
+    }
+
+    /**
+     * The update the import sends for one line, built by the import itself.
+     */
+    private BsonDocument importUpsert(TransferCollection collection) {
+        UpdateOneModel<Document> upsert = DataTransferServiceImpl.toUpsert(
+                new Document("_id", new ObjectId(PROBE_ID)).append(PROBE, true));
+        BsonDocument statement = new BsonDocument("q", toBson(upsert.getFilter()))
+                .append("u", toBson(upsert.getUpdate()))
+                .append("upsert", BsonBoolean.valueOf(upsert.getOptions().isUpsert()));
+
+        return new BsonDocument("update", new BsonString(collection.collectionName()))
+                .append("updates", new BsonArray(List.of(statement)));
+    }
+
+    private BsonDocument toBson(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, mongoTemplate.getDb().getCodecRegistry());
+    }
+
+    /**
+     * Turns a captured command into the commands to explain: generic fields
+     * are dropped and multi-statement updates and deletes are split, since
+     * explain accepts a single statement.
+     */
+    static List<BsonDocument> explainable(BsonDocument command) {
+        BsonDocument body = new BsonDocument();
+        command.forEach((field, value) -> {
+            if (!field.startsWith("$") && !GENERIC_FIELDS.contains(field)) {
+                body.put(field, value);
+            }
+        });
+
+        String statementsField = STATEMENTS.get(command.getFirstKey());
+
+        if (statementsField == null || !body.containsKey(statementsField)) {
+            return List.of(body);
+        }
+
+        List<BsonDocument> statements = new ArrayList<>();
+        for (BsonValue statement : body.getArray(statementsField)) {
+            BsonDocument single = body.clone();
+            single.put(statementsField, new BsonArray(List.of(statement)));
+            statements.add(single);
+        }
+        return statements;
+    }
+
+    /**
+     * Collects the stages below every {@code winningPlan}, which also covers
+     * the {@code $cursor} stage of aggregation explains, and the pipeline
+     * stages that sort in memory after the query layer, including those of
+     * {@code $unionWith} sub-pipelines. The echoed command is skipped.
+     */
+    static void collectStages(Object node, boolean inWinningPlan, Set<String> stages) {
+        if (node instanceof Map<?, ?> map) {
+            if (inWinningPlan && map.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (map.containsKey("$sort")) {
+                stages.add("$sort");
+            }
+            map.forEach((key, value) -> {
+                if (!"command".equals(key)) {
+                    collectStages(value, inWinningPlan || "winningPlan".equals(key), stages);
+                }
+            });
+        } else if (node instanceof List<?> nodes) {
+            nodes.forEach(value -> collectStages(value, inWinningPlan, stages));
+        }
+    }
+}
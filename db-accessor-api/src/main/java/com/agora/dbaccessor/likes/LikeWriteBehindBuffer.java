@@ -0,0 +1,248 @@
+package com.agora.dbaccessor.likes;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.repository.PostRepository;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.LikeChanges;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Coalesces like toggles per {@code (postId, userId)} and flushes them as one
+ * bulk write per interval. Entries move from {@code pending} to
+ * {@code inFlight} while a flush runs, so toggles keep seeing the latest
+ * intended state until the write has landed and the post cache is invalidated.
+ * Changes for posts archived since the toggle are applied to the restored
+ * post; those that still miss the hot collection stay in flight for the next
+ * flush.
+ */
+public class LikeWriteBehindBuffer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LikeWriteBehindBuffer.class);
+
+    private final PostRepository postRepository;
+    private final PostArchive postArchive;
+    private final PostCache postCache;
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter buffered;
+    private final Counter coalesced;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    private volatile boolean stopping;
+
+    public LikeWriteBehindBuffer(
+            PostRepository postRepository,
+            PostArchive postArchive,
+            PostCache postCache,
+            int stripeCount,
+            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postArchive = postArchive;
+        this.postCache = postCache;
+        this.stripes = new Stripe[Math.max(1, stripeCount)];
+
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        this.buffered = Counter.builder("agora.posts.likes.buffered")
+                .description("Like toggles accepted by the write-behind buffer")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("agora.posts.likes.coalesced")
+                .description("Like toggles absorbed by a pending toggle of the same user on the same post")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("agora.posts.likes.flush.failures")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("agora.posts.likes.flush")
+                .description("Duration of write-behind like flushes")
+                .register(meterRegistry);
+        Gauge.builder("agora.posts.likes.pending", pendingCount, AtomicInteger::get)
+                .description("Like changes waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a toggle and returns the resulting like state, or an empty
+     * optional once the buffer is shutting down and the caller must write
+     * synchronously.
+     *
+     * @param likedInStore reads the persisted state; only called, under the
+     *        stripe lock, when nothing is pending or in flight for the pair, so
+     *        no flush can change that state while it is read
+     */
+    public Optional<Boolean> toggle(String postId, String userId, BooleanSupplier likedInStore) {
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripeFor(key);
+
+        stripe.lock.lock();
+        try {
+            if (stopping) {
+                return Optional.empty();
+            }
+
+            PendingLike current = stripe.pending.get(key);
+
+            if (current != null) {
+                coalesced.increment();
+                boolean liked = !current.liked();
+
+                if (liked == current.likedInStore()) {
+                    stripe.pending.remove(key);
+                    pendingCount.decrementAndGet();
+                } else {
+                    stripe.pending.put(key, new PendingLike(liked, current.likedInStore()));
+                }
+
+                return Optional.of(liked);
+            }
+
+            PendingLike inFlight = stripe.inFlight.get(key);
+            boolean persisted = inFlight != null ? inFlight.liked() : likedInStore.getAsBoolean();
+
+            stripe.pending.put(key, new PendingLike(!persisted, persisted));
+            pendingCount.incrementAndGet();
+            buffered.increment();
+            return Optional.of(!persisted);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Scheduled every {@code flushInterval} by {@code LikeWriteBehindConfig}.
+     */
+    public synchronized void flush() {
+        Map<String, LikeChanges> changes = new HashMap<>();
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                // Entries left in flight by a failed flush are retried, newer toggles win.
+                stripe.inFlight.putAll(stripe.pending);
+                pendingCount.addAndGet(-stripe.pending.size());
+                stripe.pending.clear();
+                stripe.inFlight.forEach((key, like) -> collect(changes, key, like));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        Set<String> unapplied;
+
+        try {
+            unapplied = flushTimer.record(() -> write(changes));
+        } catch (DataAccessException exception) {
+            flushFailures.increment();
+            LOGGER.warn("Unable to flush {} buffered like changes, retrying on next flush", changes.size(), exception);
+            return;
+        }
+
+        changes.keySet().forEach(postCache::invalidate);
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.inFlight.keySet().removeIf(key -> !unapplied.contains(key.postId()));
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the posts whose changes did not land and must be retried.
+     */
+    private Set<String> write(Map<String, LikeChanges> changes) {
+        Set<String> missing = postRepository.applyLikeChanges(changes.values());
+
+        if (missing.isEmpty()) {
+            return missing;
+        }
+
+        // Archived since the toggle; posts found in neither collection are gone and their changes dropped.
+        List<LikeChanges> restored = missing.stream()
+                .filter(postId -> postArchive.restore(postId).isPresent())
+                .map(changes::get)
+                .toList();
+        return restored.isEmpty() ? Set.of() : postRepository.applyLikeChanges(restored);
+    }
+
+    @PreDestroy
+    public void drain() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stopping = true;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        flush();
+
+        if (hasUnflushedChanges()) {
+            LOGGER.error("Shutting down with unflushed like changes, retrying once");
+            flush();
+        }
+    }
+
+    private boolean hasUnflushedChanges() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.inFlight.isEmpty() || !stripe.pending.isEmpty()) {
+                    return true;
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return false;
+    }
+
+    private void collect(Map<String, LikeChanges> changes, LikeKey key, PendingLike like) {
+        LikeChanges change = changes.computeIfAbsent(key.postId(),
+                postId -> new LikeChanges(postId, new HashSet<>(), new HashSet<>()));
+        (like.liked() ? change.liked() : change.unliked()).add(key.userId());
+    }
+
+    private Stripe stripeFor(LikeKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record LikeKey(String postId, String userId) {
+    }
+
+    private record PendingLike(boolean liked, boolean likedInStore) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<LikeKey, PendingLike> pending = new HashMap<>();
+        private final Map<LikeKey, PendingLike> inFlight = new HashMap<>();
+    }
+}
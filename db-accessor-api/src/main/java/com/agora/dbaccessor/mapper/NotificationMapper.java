@@ -0,0 +1,66 @@
+package com.agora.dbaccessor.mapper;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.generated.model.Notification;
+import com.agora.dbaccessor.generated.model.NotificationType;
+import com.agora.dbaccessor.model.NotificationDocument;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+
+@Component
+public class NotificationMapper {
+
+    private static final int EXCERPT_LENGTH = 140;
+
+    public Notification map(NotificationDocument document) {
+        if (document == null) {
+            return null;
+        }
+
+        return new Notification()
+                .id(document.id())
+                .type(NotificationType.fromValue(document.type()))
+                .postId(document.postId())
+                .postTitle(document.postTitle())
+                .commentId(document.commentId())
+                .replyId(document.replyId())
+                .actorId(document.actorId())
+                .actorName(document.actorName())
+                .excerpt(document.excerpt())
+                .createdAt(document.createdAt())
+                .read(document.read());
+    }
+
+    // ---------------------------------------------------------------------------
+
+    public NotificationDocument map(PostDocument post, PostCommentDocument comment, PostCommentReplyDocument reply) {
+        String id = UUID.randomUUID().toString();
+        OffsetDateTime createdAt = reply.createdAt() != null ? reply.createdAt() : OffsetDateTime.now();
+
+        return new NotificationDocument(
+                id,
+                comment.authorId(),
+                NotificationType.COMMENT_REPLY.getValue(),
+                post.id(),
+                post.title(),
+                comment.id(),
+                reply.id(),
+                reply.authorId(),
+                reply.authorName(),
+                excerpt(reply.content()),
+                createdAt,
+                false);
+    }
+
+    private String excerpt(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, EXCERPT_LENGTH - 1).stripTrailing() + "…";
+    }
+}
@@ -3,26 +3,40 @@ package com.agora.dbaccessor.mapper;
 import java.net.URI;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.agora.dbaccessor.config.PostRepliesProperties;
 import com.agora.dbaccessor.generated.model.CreatePostCommentReplyRequest;
 import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
 import com.agora.dbaccessor.generated.model.CreatePostRequest;
 import com.agora.dbaccessor.generated.model.Post;
 import com.agora.dbaccessor.generated.model.PostComment;
 import com.agora.dbaccessor.generated.model.PostCommentReply;
+import com.agora.dbaccessor.generated.model.PostCommentReplyPage;
 import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.generated.model.PostSummary;
+import com.agora.dbaccessor.generated.model.UserComment;
 import com.agora.dbaccessor.model.PostDocument;
 import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
 import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.PostSummaryProjection;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.UserCommentProjection;
 
 @Component
 public class PostMapper {
 
+    private final int inlineReplyLimit;
+
+    public PostMapper(PostRepliesProperties properties) {
+        this.inlineReplyLimit = Math.max(0, properties.inlineLimit());
+    }
+
     public Post map(PostDocument document) {
         if (document == null) {
             return null;
@@ -37,7 +51,32 @@ public class PostMapper {
                 .createdAt(document.createdAt())
                 .updatedAt(document.updatedAt())
                 .likedBy(copyStrings(document.likedBy()))
-                .comments(mapComments(document.comments()));
+                .comments(mapComments(document.comments()))
+                .commentCounts(new HashMap<>(document.commentCounts()));
+    }
+
+    /**
+     * Copies a mapped post with the like of {@code userId} set to {@code liked}.
+     */
+    public Post withLike(Post post, String userId, boolean liked) {
+        List<String> likedBy = copyStrings(post.getLikedBy());
+        likedBy.remove(userId);
+
+        if (liked) {
+            likedBy.add(userId);
+        }
+
+        return new Post()
+                .id(post.getId())
+                .title(post.getTitle())
+                .summary(post.getSummary())
+                .sourceUrl(post.getSourceUrl())
+                .tags(post.getTags())
+                .createdAt(post.getCreatedAt())
+                .updatedAt(post.getUpdatedAt())
+                .likedBy(likedBy)
+                .comments(post.getComments())
+                .commentCounts(post.getCommentCounts());
     }
 
     public List<PostComment> mapComments(List<PostCommentDocument> documents) {
@@ -54,6 +93,13 @@ public class PostMapper {
             return null;
         }
 
+        // Documents loaded whole are trimmed here, projected ones arrive trimmed with their count.
+        List<PostCommentReplyDocument> replies = document.replies();
+        int replyCount = document.replyCount() != null ? document.replyCount() : replies.size();
+        List<PostCommentReplyDocument> inline = replies.size() > inlineReplyLimit
+                ? replies.subList(0, inlineReplyLimit)
+                : replies;
+
         return new PostComment()
                 .id(document.id())
                 .section(toSection(document.section()))
@@ -61,7 +107,9 @@ public class PostMapper {
                 .authorName(document.authorName())
                 .content(document.content())
                 .createdAt(document.createdAt())
-                .replies(mapReplies(document.replies()));
+                .replies(mapReplies(inline))
+                .replyCount(replyCount)
+                .repliesCursor(replyCount > inline.size() && !inline.isEmpty() ? inline.getLast().id() : null);
     }
 
     public List<PostCommentReply> mapReplies(List<PostCommentReplyDocument> documents) {
@@ -73,6 +121,15 @@ public class PostMapper {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    public PostCommentReplyPage map(List<PostCommentReplyDocument> documents, boolean hasMore) {
+        List<PostCommentReply> items = mapReplies(documents);
+        String nextCursor = hasMore && !items.isEmpty() ? items.getLast().getId() : null;
+
+        return new PostCommentReplyPage()
+                .items(items)
+                .nextCursor(nextCursor);
+    }
+
     public PostCommentReply map(PostCommentReplyDocument document) {
         if (document == null) {
             return null;
@@ -87,6 +144,37 @@ public class PostMapper {
                 .createdAt(document.createdAt());
     }
 
+    public PostSummary map(PostSummaryProjection projection) {
+        if (projection == null) {
+            return null;
+        }
+
+        return new PostSummary()
+                .id(projection.id())
+                .title(projection.title())
+                .summary(projection.summary())
+                .sourceUrl(toUri(projection.sourceUrl()))
+                .tags(copyStrings(projection.tags()))
+                .createdAt(projection.createdAt())
+                .likeCount(projection.likeCount())
+                .commentCount(projection.commentCount());
+    }
+
+    public UserComment map(UserCommentProjection projection) {
+        if (projection == null) {
+            return null;
+        }
+
+        return new UserComment()
+                .postId(projection.postId())
+                .postTitle(projection.postTitle())
+                .commentId(projection.commentId())
+                .parentId(projection.parentId())
+                .section(toSection(projection.section()))
+                .content(projection.content())
+                .createdAt(projection.createdAt());
+    }
+
     // ---------------------------------------------------------------------------
 
     public PostDocument map(CreatePostRequest request) {
@@ -102,8 +190,9 @@ public class PostMapper {
         OffsetDateTime now = currentTimestamp();
         List<String> likedBy = new ArrayList<>();
         List<PostCommentDocument> comments = new ArrayList<>();
+        Map<String, Integer> commentCounts = new HashMap<>();
 
-        return new PostDocument(id, title, summary, sourceUrl, tags, now, now, likedBy, comments);
+        return new PostDocument(id, title, summary, sourceUrl, tags, now, now, now.toInstant(), likedBy, comments, commentCounts);
     }
 
     public PostCommentDocument map(CreatePostCommentRequest request) {
@@ -119,7 +208,7 @@ public class PostMapper {
         OffsetDateTime createdAt = currentTimestamp();
         List<PostCommentReplyDocument> replies = new ArrayList<>();
 
-        return new PostCommentDocument(id, section, authorId, authorName, content, createdAt, replies);
+        return new PostCommentDocument(id, section, authorId, authorName, content, createdAt, replies, null);
     }
 
     public PostCommentReplyDocument map(String parentId, CreatePostCommentReplyRequest request) {
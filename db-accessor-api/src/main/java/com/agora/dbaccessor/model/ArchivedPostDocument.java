@@ -0,0 +1,55 @@
+package com.agora.dbaccessor.model;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Inactive post moved out of {@code posts}. The queryable fields stay as they
+ * are; the comment tree is one gzip-compressed BSON blob, next to an
+ * uncompressed index of who wrote what and when so per-author listings still
+ * find archived comments without decompressing every post.
+ */
+@Document(collection = "posts_archive")
+@CompoundIndex(name = "likedBy_createdAt", def = "{'likedBy': 1, 'createdAt': -1}")
+@CompoundIndex(name = "commentIndex_authorId", def = "{'commentIndex.authorId': 1}")
+public record ArchivedPostDocument(
+        @Id String id,
+        String title,
+        String summary,
+        @Indexed(unique = true, sparse = true) String sourceUrl,
+        List<String> tags,
+        @Indexed(direction = IndexDirection.DESCENDING) OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        List<String> likedBy,
+        int commentCount,
+        byte[] comments,
+        List<ArchivedCommentEntry> commentIndex,
+        Instant archivedAt) {
+
+    public ArchivedPostDocument {
+        tags = tags != null ? new ArrayList<>(tags) : new ArrayList<>();
+        likedBy = likedBy != null ? new ArrayList<>(likedBy) : new ArrayList<>();
+        commentIndex = commentIndex != null ? new ArrayList<>(commentIndex) : new ArrayList<>();
+    }
+
+    /**
+     * One comment or reply of the compressed tree, without its content.
+     *
+     * @param parentId identifier of the parent comment, {@code null} for top-level comments
+     */
+    public record ArchivedCommentEntry(
+            String commentId,
+            String parentId,
+            String authorId,
+            String section,
+            OffsetDateTime createdAt) {
+    }
+}
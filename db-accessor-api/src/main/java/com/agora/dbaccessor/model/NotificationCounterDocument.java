@@ -0,0 +1,14 @@
+package com.agora.dbaccessor.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Unread notification count of a user, maintained alongside the inserts and
+ * read marks so the inbox never counts documents.
+ */
+@Document(collection = "notification_counters")
+public record NotificationCounterDocument(
+        @Id String recipientId,
+        long unread) {
+}
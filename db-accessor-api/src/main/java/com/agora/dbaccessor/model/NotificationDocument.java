@@ -0,0 +1,29 @@
+package com.agora.dbaccessor.model;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Activity addressed to one user, written when the activity happens so the
+ * inbox is a single index range scan. Post title and actor name are copied at
+ * write time and are not kept in sync afterwards.
+ */
+@Document(collection = "notifications")
+@CompoundIndex(name = "recipientId_createdAt", def = "{'recipientId': 1, 'createdAt': -1}")
+public record NotificationDocument(
+        @Id String id,
+        String recipientId,
+        String type,
+        String postId,
+        String postTitle,
+        String commentId,
+        String replyId,
+        String actorId,
+        String actorName,
+        String excerpt,
+        OffsetDateTime createdAt,
+        boolean read) {
+}
@@ -0,0 +1,14 @@
+package com.agora.dbaccessor.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "post_cache_invalidations")
+public record PostCacheInvalidationDocument(
+        @Id String id,
+        String postId,
+        String origin,
+        Instant publishedAt) {
+}
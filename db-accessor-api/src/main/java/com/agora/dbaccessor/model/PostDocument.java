@@ -1,28 +1,58 @@
 package com.agora.dbaccessor.model;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+
 @Document(collection = "posts")
+@CompoundIndex(name = "likedBy_createdAt", def = "{'likedBy': 1, 'createdAt': -1}")
+@CompoundIndex(name = "comments_authorId", def = "{'comments.authorId': 1}")
+@CompoundIndex(name = "comments_replies_authorId", def = "{'comments.replies.authorId': 1}")
 public record PostDocument(
         @Id String id,
         String title,
         String summary,
-        String sourceUrl,
+        @Indexed(unique = true, sparse = true) String sourceUrl,
         List<String> tags,
-        OffsetDateTime createdAt,
+        @Indexed(direction = IndexDirection.DESCENDING) OffsetDateTime createdAt,
         OffsetDateTime updatedAt,
+        // Last comment, reply or like, which the archiver goes by. A BSON date rather than
+        // a converted string, so range queries compare instants whatever the offset.
+        @Indexed Instant lastActivityAt,
         List<String> likedBy,
-        List<PostCommentDocument> comments) {
+        List<PostCommentDocument> comments,
+        // Comments per section, kept on write; derived from the comments for posts stored without it.
+        Map<String, Integer> commentCounts) {
+
+    /**
+     * Unmapped field holding the instant an archiver claimed the post. Every
+     * write clears it, which is how an archiver in flight learns it lost the post.
+     */
+    public static final String ARCHIVE_CLAIM = "archiveClaim";
 
     public PostDocument {
         tags = tags != null ? new ArrayList<>(tags) : new ArrayList<>();
         likedBy = likedBy != null ? new ArrayList<>(likedBy) : new ArrayList<>();
         comments = comments != null ? new ArrayList<>(comments) : new ArrayList<>();
+        commentCounts = commentCounts != null ? new HashMap<>(commentCounts) : countBySection(comments);
+    }
+
+    private static Map<String, Integer> countBySection(List<PostCommentDocument> comments) {
+        Map<String, Integer> counts = new HashMap<>();
+        comments.forEach(comment -> counts.merge(comment.sectionOrDefault(), 1, Integer::sum));
+        return counts;
     }
 
     public record PostCommentDocument(
@@ -32,11 +62,17 @@ public record PostDocument(
             String authorName,
             String content,
             OffsetDateTime createdAt,
-            List<PostCommentReplyDocument> replies) {
+            List<PostCommentReplyDocument> replies,
+            // Only set by projections that trim the replies array.
+            @ReadOnlyProperty Integer replyCount) {
 
         public PostCommentDocument {
             replies = replies != null ? new ArrayList<>(replies) : new ArrayList<>();
         }
+
+        public String sectionOrDefault() {
+            return section != null ? section : PostCommentSection.AVIS.getValue();
+        }
     }
 
     public record PostCommentReplyDocument(
@@ -10,7 +10,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 public record SessionDocument(
         @Id String id,
         @Indexed(unique = true) String tokenHash,
-        String userId,
+        @Indexed String userId,
         OffsetDateTime createdAt,
         OffsetDateTime expiresAt) {
 }
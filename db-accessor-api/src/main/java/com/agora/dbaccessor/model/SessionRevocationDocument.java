@@ -0,0 +1,21 @@
+package com.agora.dbaccessor.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Revokes either one signed session ({@code sessionId} set) or every signed
+ * session of a user issued before {@code revokedAt} ({@code sessionId} null).
+ * Kept until the last affected token expires.
+ */
+@Document(collection = "session_revocations")
+public record SessionRevocationDocument(
+        @Id String id,
+        String sessionId,
+        String userId,
+        @Indexed Instant revokedAt,
+        @Indexed(expireAfter = "0s") Instant expiresAt) {
+}
@@ -0,0 +1,175 @@
+package com.agora.dbaccessor.notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import com.agora.dbaccessor.model.NotificationDocument;
+import com.agora.dbaccessor.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Decouples notification fan-out from the write that caused it. Publishing
+ * never blocks: when the bounded queue is full the notification is dropped
+ * and counted, so a slow notifications collection cannot add latency to
+ * replies. The queue is drained in batches of {@code batchSize} inserts.
+ * <p>
+ * Storing a notification and bumping its recipient's unread counter are two
+ * writes. When only the second fails the notification is not lost, so it is
+ * not counted as failed: the increment is kept and retried on every flush
+ * until it lands. Increments commute with read marks, so a late retry cannot
+ * race with anything. Increments still pending at shutdown are logged.
+ */
+public class NotificationQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationQueue.class);
+
+    private final NotificationRepository notificationRepository;
+    private final BlockingQueue<NotificationDocument> queue;
+    private final int batchSize;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter counterFailures;
+    private final Timer flushTimer;
+    private final Map<String, Long> uncounted = new ConcurrentHashMap<>();
+
+    private volatile boolean stopping;
+
+    public NotificationQueue(NotificationRepository notificationRepository, int capacity, int batchSize,
+            MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+
+        this.published = Counter.builder("agora.notifications.published")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("agora.notifications.dropped")
+                .description("Notifications discarded because the queue was full or shutting down")
+                .register(meterRegistry);
+        this.failed = Counter.builder("agora.notifications.failed")
+                .description("Notifications lost to a failed batch insert")
+                .register(meterRegistry);
+        this.counterFailures = Counter.builder("agora.notifications.counter.failures")
+                .description("Unread counter updates that failed and were kept for the next flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("agora.notifications.flush")
+                .description("Duration of notification batch inserts")
+                .register(meterRegistry);
+        Gauge.builder("agora.notifications.queued", queue, BlockingQueue::size)
+                .description("Notifications waiting to be inserted")
+                .register(meterRegistry);
+        Gauge.builder("agora.notifications.uncounted", uncounted, NotificationQueue::sum)
+                .description("Stored notifications not yet added to their recipient's unread counter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a notification for insertion.
+     *
+     * @return whether the notification was accepted
+     */
+    public boolean publish(NotificationDocument notification) {
+        if (stopping || !queue.offer(notification)) {
+            dropped.increment();
+            return false;
+        }
+
+        published.increment();
+        return true;
+    }
+
+    /**
+     * Scheduled every {@code flushInterval} by {@code NotificationConfig}.
+     */
+    public synchronized void flush() {
+        count(Map.of());
+        List<NotificationDocument> batch = new ArrayList<>(batchSize);
+
+        // Stop on a short batch so a steady trickle of publishes cannot pin the scheduler thread.
+        do {
+            batch.clear();
+            queue.drainTo(batch, batchSize);
+
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<NotificationDocument> inserted;
+            try {
+                inserted = flushTimer.record(() -> notificationRepository.insertBatch(batch));
+            } catch (DataAccessException exception) {
+                failed.increment(batch.size());
+                LOGGER.warn("Unable to insert a batch of {} notifications", batch.size(), exception);
+                continue;
+            }
+
+            if (inserted.size() < batch.size()) {
+                failed.increment(batch.size() - inserted.size());
+                LOGGER.warn("Unable to insert {} of {} notifications", batch.size() - inserted.size(), batch.size());
+            }
+
+            count(inserted.stream()
+                    .collect(Collectors.groupingBy(NotificationDocument::recipientId, Collectors.counting())));
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Bumps the unread counters for the given increments together with any left
+     * over from earlier flushes, keeping whatever the server did not apply.
+     */
+    private void count(Map<String, Long> increments) {
+        increments.forEach((recipientId, count) -> uncounted.merge(recipientId, count, Long::sum));
+
+        if (uncounted.isEmpty()) {
+            return;
+        }
+
+        // Only flush() gets here, so nothing adds to the map while the write is in flight.
+        Map<String, Long> rejected;
+        try {
+            rejected = notificationRepository.incrementUnread(Map.copyOf(uncounted));
+        } catch (DataAccessException exception) {
+            counterFailures.increment();
+            LOGGER.warn("Unable to update the unread counters of {} recipients, retrying on the next flush",
+                    uncounted.size(), exception);
+            return;
+        }
+
+        uncounted.clear();
+        if (!rejected.isEmpty()) {
+            uncounted.putAll(rejected);
+            counterFailures.increment();
+            LOGGER.warn("Unable to update the unread counters of {} recipients, retrying on the next flush",
+                    rejected.size());
+        }
+    }
+
+    private static long sum(Map<String, Long> increments) {
+        return increments.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @PreDestroy
+    public void drain() {
+        stopping = true;
+        flush();
+
+        if (!uncounted.isEmpty()) {
+            LOGGER.error("Shutting down with {} stored notifications missing from the unread counters of {} recipients",
+                    sum(uncounted), uncounted.size());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.agora.dbaccessor.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.agora.dbaccessor.model.ArchivedPostDocument;
+
+public interface ArchivedPostRepository extends MongoRepository<ArchivedPostDocument, String> {
+
+    Optional<ArchivedPostDocument> findBySourceUrl(String sourceUrl);
+
+    boolean existsBySourceUrl(String sourceUrl);
+}
@@ -0,0 +1,8 @@
+package com.agora.dbaccessor.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.agora.dbaccessor.model.NotificationDocument;
+
+public interface NotificationRepository extends MongoRepository<NotificationDocument, String>, NotificationRepositoryCustom {
+}
@@ -0,0 +1,50 @@
+package com.agora.dbaccessor.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.agora.dbaccessor.model.NotificationDocument;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Lists the notifications of a recipient, newest first.
+     */
+    List<NotificationDocument> findByRecipient(String recipientId, long skip, int limit);
+
+    /**
+     * Inserts the notifications in a single unordered bulk write. Documents the
+     * server rejected are left out of the result rather than failing the batch.
+     *
+     * @return the notifications that were stored
+     */
+    List<NotificationDocument> insertBatch(List<NotificationDocument> notifications);
+
+    /**
+     * Bumps the unread counter of each recipient by the given amount. Increments
+     * commute with the decrements of {@link #markRead}, so the ones that were not
+     * applied can be retried at any later point.
+     *
+     * @return the increments the server rejected
+     */
+    Map<String, Long> incrementUnread(Map<String, Long> increments);
+
+    /**
+     * Marks the given notifications of a recipient as read and decrements its
+     * unread counter accordingly.
+     *
+     * @return the number of notifications that were unread
+     */
+    long markRead(String recipientId, Collection<String> notificationIds);
+
+    /**
+     * Marks every notification of a recipient as read and decrements its
+     * unread counter accordingly.
+     *
+     * @return the number of notifications that were unread
+     */
+    long markAllRead(String recipientId);
+
+    long unreadCount(String recipientId);
+}
@@ -0,0 +1,130 @@
+package com.agora.dbaccessor.repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.agora.dbaccessor.model.NotificationCounterDocument;
+import com.agora.dbaccessor.model.NotificationDocument;
+
+import com.mongodb.bulk.BulkWriteError;
+
+class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    NotificationRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<NotificationDocument> findByRecipient(String recipientId, long skip, int limit) {
+        Query query = Query.query(Criteria.where("recipientId").is(recipientId))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt"))
+                .skip(skip)
+                .limit(limit);
+        return mongoTemplate.find(query, NotificationDocument.class);
+    }
+
+    @Override
+    public List<NotificationDocument> insertBatch(List<NotificationDocument> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationDocument.class)
+                    .insert(notifications)
+                    .execute();
+        } catch (BulkOperationException exception) {
+            // Unordered: everything but the reported indexes landed.
+            Set<Integer> failed = exception.getErrors().stream()
+                    .map(BulkWriteError::getIndex)
+                    .collect(Collectors.toCollection(HashSet::new));
+            return IntStream.range(0, notifications.size())
+                    .filter(index -> !failed.contains(index))
+                    .mapToObj(notifications::get)
+                    .toList();
+        }
+
+        return notifications;
+    }
+
+    @Override
+    public Map<String, Long> incrementUnread(Map<String, Long> increments) {
+        if (increments.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Map.Entry<String, Long>> entries = List.copyOf(increments.entrySet());
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                NotificationCounterDocument.class);
+        entries.forEach(entry -> operations.upsert(byRecipient(entry.getKey()),
+                new Update().inc("unread", entry.getValue())));
+
+        try {
+            operations.execute();
+        } catch (BulkOperationException exception) {
+            // Only the reported upserts were skipped; resending the others would count them twice.
+            return exception.getErrors().stream()
+                    .map(error -> entries.get(error.getIndex()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+
+        return Map.of();
+    }
+
+    @Override
+    public long markRead(String recipientId, Collection<String> notificationIds) {
+        return markRead(recipientId, Criteria.where("recipientId").is(recipientId)
+                .and("_id").in(notificationIds)
+                .and("read").is(false));
+    }
+
+    @Override
+    public long markAllRead(String recipientId) {
+        return markRead(recipientId, Criteria.where("recipientId").is(recipientId).and("read").is(false));
+    }
+
+    @Override
+    public long unreadCount(String recipientId) {
+        NotificationCounterDocument counter = mongoTemplate.findOne(byRecipient(recipientId),
+                NotificationCounterDocument.class);
+        // A read mark racing ahead of the batch that counted the notification leaves it briefly negative.
+        return counter != null ? Math.max(0, counter.unread()) : 0;
+    }
+
+    /**
+     * The counter only ever moves by increments and decrements, which commute:
+     * a notification marked read before its batch bumped the counter drives it
+     * to -1 and the late bump brings it back to 0. Upserting keeps a decrement
+     * that lands before the counter exists.
+     */
+    private long markRead(String recipientId, Criteria unread) {
+        long marked = mongoTemplate.updateMulti(Query.query(unread), Update.update("read", true), NotificationDocument.class)
+                .getModifiedCount();
+
+        if (marked > 0) {
+            mongoTemplate.upsert(byRecipient(recipientId), new Update().inc("unread", -marked),
+                    NotificationCounterDocument.class);
+        }
+
+        return marked;
+    }
+
+    private static Query byRecipient(String recipientId) {
+        return Query.query(Criteria.where("_id").is(recipientId));
+    }
+}
@@ -0,0 +1,13 @@
+package com.agora.dbaccessor.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.agora.dbaccessor.model.PostCacheInvalidationDocument;
+
+public interface PostCacheInvalidationRepository extends MongoRepository<PostCacheInvalidationDocument, String> {
+
+    List<PostCacheInvalidationDocument> findByPublishedAtAfter(Instant publishedAt);
+}
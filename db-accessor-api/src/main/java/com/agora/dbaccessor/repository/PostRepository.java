@@ -6,7 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.agora.dbaccessor.model.PostDocument;
 
-public interface PostRepository extends MongoRepository<PostDocument, String> {
+public interface PostRepository extends MongoRepository<PostDocument, String>, PostRepositoryCustom {
 
     Optional<PostDocument> findBySourceUrl(String sourceUrl);
 
@@ -0,0 +1,104 @@
+package com.agora.dbaccessor.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+
+public interface PostRepositoryCustom {
+
+    /**
+     * Applies the given like changes in a single unordered bulk write.
+     *
+     * @return identifiers of the posts missing from the collection, whose changes were not applied
+     */
+    Set<String> applyLikeChanges(Collection<LikeChanges> changes);
+
+    /**
+     * Reads whether a user likes a post straight from the collection, without loading the post.
+     */
+    boolean isLikedBy(String postId, String userId);
+
+    /**
+     * Replaces a post only if it is still in the collection, so a write never
+     * resurrects a post the archiver moved out since it was read.
+     *
+     * @return whether the post was replaced
+     */
+    boolean replaceIfPresent(PostDocument document);
+
+    /**
+     * Loads a post keeping only the first {@code replyLimit} replies of each
+     * comment; the trimmed replies are dropped server-side and
+     * {@code replyCount} carries the full count.
+     */
+    Optional<PostDocument> findByIdWithReplyLimit(String id, int replyLimit);
+
+    Optional<PostDocument> findBySourceUrlWithReplyLimit(String sourceUrl, int replyLimit);
+
+    /**
+     * Same as {@link #findByIdWithReplyLimit} keeping only the comments of one
+     * section; the other sections are dropped server-side and only counted.
+     */
+    Optional<PostDocument> findByIdInSection(String id, String section, int replyLimit);
+
+    /**
+     * Loads at most {@code limit} replies of a comment following the reply
+     * {@code afterReplyId}, or the first ones when it is {@code null}.
+     */
+    Optional<ReplySlice> findReplies(String postId, String commentId, String afterReplyId, int limit);
+
+    /**
+     * Lists summaries of the posts liked by a user, newest first, archived posts included.
+     */
+    List<PostSummaryProjection> findLikedBy(String userId, long skip, int limit);
+
+    /**
+     * Lists the comments and replies written by a user, newest first. Entries
+     * from archived posts come without content, flagged {@code archived}.
+     */
+    List<UserCommentProjection> findCommentsBy(String authorId, long skip, int limit);
+
+    record LikeChanges(String postId, Set<String> liked, Set<String> unliked) {
+    }
+
+    /**
+     * @param cursorIndex position of the cursor reply, {@code -1} when it was not found
+     */
+    record ReplySlice(
+            boolean commentFound,
+            int total,
+            int cursorIndex,
+            List<PostCommentReplyDocument> replies) {
+    }
+
+    record PostSummaryProjection(
+            String id,
+            String title,
+            String summary,
+            String sourceUrl,
+            List<String> tags,
+            OffsetDateTime createdAt,
+            int likeCount,
+            int commentCount) {
+    }
+
+    /**
+     * @param parentId identifier of the parent comment, {@code null} for top-level comments
+     * @param archived whether the entry was read from the archive index
+     */
+    record UserCommentProjection(
+            String postId,
+            String postTitle,
+            String commentId,
+            String parentId,
+            String section,
+            String content,
+            OffsetDateTime createdAt,
+            boolean archived) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.agora.dbaccessor.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.model.ArchivedPostDocument;
+import com.agora.dbaccessor.model.PostDocument;
+
+class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    PostRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Set<String> applyLikeChanges(Collection<LikeChanges> changes) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostDocument.class);
+        Instant now = Instant.now();
+        int count = 0;
+
+        for (LikeChanges change : changes) {
+            Query byId = Query.query(Criteria.where("_id").is(change.postId()));
+
+            // $addToSet and $pull cannot target the same field in one update.
+            if (!change.liked().isEmpty()) {
+                operations.updateOne(byId, new Update().addToSet("likedBy").each(change.liked().toArray())
+                        .set("lastActivityAt", now)
+                        .unset(PostDocument.ARCHIVE_CLAIM));
+                count++;
+            }
+
+            if (!change.unliked().isEmpty()) {
+                operations.updateOne(byId, new Update().pullAll("likedBy", change.unliked().toArray())
+                        .set("lastActivityAt", now)
+                        .unset(PostDocument.ARCHIVE_CLAIM));
+                count++;
+            }
+        }
+
+        if (count == 0 || operations.execute().getMatchedCount() == count) {
+            return Set.of();
+        }
+
+        Set<String> missing = changes.stream().map(LikeChanges::postId).collect(Collectors.toCollection(HashSet::new));
+        Query present = Query.query(Criteria.where("_id").in(missing));
+        present.fields().include("_id");
+        mongoTemplate.find(present, PostDocument.class).forEach(post -> missing.remove(post.id()));
+        return missing;
+    }
+
+    @Override
+    public boolean isLikedBy(String postId, String userId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(postId).and("likedBy").is(userId)), PostDocument.class);
+    }
+
+    @Override
+    public boolean replaceIfPresent(PostDocument document) {
+        Query byId = Query.query(Criteria.where("_id").is(document.id()));
+        return mongoTemplate.replace(byId, document).getMatchedCount() > 0;
+    }
+
+    @Override
+    public Optional<PostDocument> findByIdWithReplyLimit(String id, int replyLimit) {
+        return findWithReplyLimit(Criteria.where("_id").is(id), null, replyLimit);
+    }
+
+    @Override
+    public Optional<PostDocument> findBySourceUrlWithReplyLimit(String sourceUrl, int replyLimit) {
+        return findWithReplyLimit(Criteria.where("sourceUrl").is(sourceUrl), null, replyLimit);
+    }
+
+    @Override
+    public Optional<PostDocument> findByIdInSection(String id, String section, int replyLimit) {
+        return findWithReplyLimit(Criteria.where("_id").is(id), section, replyLimit);
+    }
+
+    @Override
+    public Optional<ReplySlice> findReplies(String postId, String commentId, String afterReplyId, int limit) {
+        Document comment = new Document("$arrayElemAt", List.of(
+                new Document("$filter", new Document("input", orEmpty("$comments"))
+                        .append("as", "comment")
+                        .append("cond", new Document("$eq", List.of("$$comment.id", commentId)))),
+                0));
+        Object cursorIndex = afterReplyId != null
+                ? new Document("$indexOfArray", List.of("$replies.id", afterReplyId))
+                : new Document("$literal", -1);
+
+        AggregationOperation selectComment = context -> new Document("$project", new Document("_id", 0)
+                .append("commentFound", new Document("$ne", List.of(new Document("$type", comment), "missing")))
+                .append("replies", new Document("$let", new Document("vars", new Document("comment", comment))
+                        .append("in", orEmpty("$$comment.replies")))));
+        AggregationOperation slice = context -> new Document("$project", new Document("commentFound", 1)
+                .append("total", new Document("$size", "$replies"))
+                .append("cursorIndex", cursorIndex)
+                .append("replies", new Document("$slice", List.of(
+                        "$replies",
+                        new Document("$add", List.of(cursorIndex, 1)),
+                        Math.max(1, limit)))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("_id").is(postId)),
+                selectComment,
+                slice);
+
+        return Optional.ofNullable(mongoTemplate.aggregate(aggregation, collectionName(), ReplySlice.class)
+                .getUniqueMappedResult());
+    }
+
+    @Override
+    public List<PostSummaryProjection> findLikedBy(String userId, long skip, int limit) {
+        long upTo = skip + limit;
+
+        AggregationOperation summarise = context -> new Document("$project", summary()
+                .append("commentCount", new Document("$size", orEmpty("$comments"))));
+        // Each tier contributes at most one window through its own likedBy_createdAt index.
+        AggregationOperation includeArchived = context -> new Document("$unionWith", new Document("coll", archiveCollectionName())
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("likedBy", userId)),
+                        new Document("$sort", new Document("createdAt", -1)),
+                        new Document("$limit", upTo),
+                        new Document("$project", summary().append("commentCount", "$commentCount")))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("likedBy").is(userId)),
+                Aggregation.sort(Sort.Direction.DESC, "createdAt"),
+                Aggregation.limit(upTo),
+                summarise,
+                includeArchived,
+                onePerKey("_id"),
+                unwrapEntry(),
+                newestFirst(),
+                Aggregation.skip(skip),
+                Aggregation.limit(limit));
+
+        return mongoTemplate.aggregate(aggregation, collectionName(), PostSummaryProjection.class).getMappedResults();
+    }
+
+    @Override
+    public List<UserCommentProjection> findCommentsBy(String authorId, long skip, int limit) {
+        Document ownComments = new Document("$map", new Document("input", new Document("$filter",
+                new Document("input", orEmpty("$comments"))
+                        .append("as", "comment")
+                        .append("cond", new Document("$eq", List.of("$$comment.authorId", authorId)))))
+                .append("as", "comment")
+                .append("in", new Document("commentId", "$$comment.id")
+                        .append("parentId", null)
+                        .append("section", "$$comment.section")
+                        .append("content", "$$comment.content")
+                        .append("createdAt", "$$comment.createdAt")));
+        Document ownReplies = new Document("$reduce", new Document("input", orEmpty("$comments"))
+                .append("initialValue", List.of())
+                .append("in", new Document("$concatArrays", List.of("$$value", new Document("$map",
+                        new Document("input", new Document("$filter",
+                                new Document("input", orEmpty("$$this.replies"))
+                                        .append("as", "reply")
+                                        .append("cond", new Document("$eq", List.of("$$reply.authorId", authorId)))))
+                                .append("as", "reply")
+                                .append("in", new Document("commentId", "$$reply.id")
+                                        .append("parentId", "$$this.id")
+                                        .append("section", "$$this.section")
+                                        .append("content", "$$reply.content")
+                                        .append("createdAt", "$$reply.createdAt")))))));
+        // The archive keeps an uncompressed index of its comments; the content is filled in after paging.
+        Document ownArchivedEntries = new Document("$filter", new Document("input", orEmpty("$commentIndex"))
+                .append("as", "entry")
+                .append("cond", new Document("$eq", List.of("$$entry.authorId", authorId))));
+
+        // Only the user's entries survive the projection, so the unwind never expands other comments.
+        AggregationOperation collect = context -> new Document("$project", new Document("title", 1)
+                .append("items", new Document("$concatArrays", List.of(ownComments, ownReplies))));
+        AggregationOperation flatten = context -> new Document("$project", flattened()
+                .append("content", "$items.content"));
+        AggregationOperation includeArchived = context -> new Document("$unionWith", new Document("coll", archiveCollectionName())
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("commentIndex.authorId", authorId)),
+                        new Document("$project", new Document("title", 1).append("items", ownArchivedEntries)),
+                        new Document("$unwind", "$items"),
+                        new Document("$project", flattened().append("archived", new Document("$literal", true))))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(new Criteria().orOperator(
+                        Criteria.where("comments.authorId").is(authorId),
+                        Criteria.where("comments.replies.authorId").is(authorId))),
+                collect,
+                Aggregation.unwind("items"),
+                flatten,
+                includeArchived,
+                onePerKey("commentId"),
+                unwrapEntry(),
+                newestFirst(),
+                Aggregation.skip(skip),
+                Aggregation.limit(limit))
+                // The sort runs on unwound entries no index can order; deep pages may exceed the in-memory limit.
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        return mongoTemplate.aggregate(aggregation, collectionName(), UserCommentProjection.class).getMappedResults();
+    }
+
+    private static Document summary() {
+        return new Document("title", 1)
+                .append("summary", 1)
+                .append("sourceUrl", 1)
+                .append("tags", 1)
+                .append("createdAt", 1)
+                .append("likeCount", new Document("$size", orEmpty("$likedBy")));
+    }
+
+    private static Document flattened() {
+        return new Document("_id", 0)
+                .append("postId", "$_id")
+                .append("postTitle", "$title")
+                .append("commentId", "$items.commentId")
+                .append("parentId", "$items.parentId")
+                .append("section", "$items.section")
+                .append("createdAt", "$items.createdAt");
+    }
+
+    /**
+     * Keeps one document per {@code key}, stored under {@code entry}: a post
+     * caught mid-move is briefly in both tiers.
+     */
+    private static AggregationOperation onePerKey(String key) {
+        return context -> new Document("$group", new Document("_id", "$" + key)
+                .append("entry", new Document("$first", "$$ROOT")));
+    }
+
+    private static AggregationOperation unwrapEntry() {
+        return context -> new Document("$replaceWith", "$entry");
+    }
+
+    /**
+     * Sorts the merged tiers; written raw since the fields come from stages Spring does not track.
+     */
+    private static AggregationOperation newestFirst() {
+        return context -> new Document("$sort", new Document("createdAt", -1));
+    }
+
+    private Optional<PostDocument> findWithReplyLimit(Criteria criteria, String section, int replyLimit) {
+        Object replies = orEmpty("$$comment.replies");
+        Object trimmed = replyLimit > 0 ? new Document("$slice", List.of(replies, replyLimit)) : List.of();
+        Object comments = section != null
+                ? new Document("$filter", new Document("input", orEmpty("$comments"))
+                        .append("as", "comment")
+                        .append("cond", new Document("$eq", List.of(sectionOf("$$comment"), section))))
+                : orEmpty("$comments");
+
+        // Expressions in one $addFields stage all see the stored comments, so the counts cover every section.
+        AggregationOperation trimReplies = context -> new Document("$addFields", new Document("comments",
+                new Document("$map", new Document("input", comments)
+                        .append("as", "comment")
+                        .append("in", new Document("$mergeObjects", List.of(
+                                "$$comment",
+                                new Document("replies", trimmed)
+                                        .append("replyCount", new Document("$size", replies)))))))
+                .append("commentCounts", new Document("$ifNull", List.of("$commentCounts", countBySection()))));
+
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.limit(1),
+                trimReplies);
+
+        return Optional.ofNullable(mongoTemplate.aggregate(aggregation, collectionName(), PostDocument.class)
+                .getUniqueMappedResult());
+    }
+
+    /**
+     * Counts comments per section for posts stored before the counts were kept.
+     */
+    private static Document countBySection() {
+        Document sections = new Document("$setUnion", List.of(new Document("$map",
+                new Document("input", orEmpty("$comments"))
+                        .append("as", "comment")
+                        .append("in", sectionOf("$$comment")))));
+
+        return new Document("$arrayToObject", new Document("$map", new Document("input", sections)
+                .append("as", "section")
+                .append("in", new Document("k", "$$section")
+                        .append("v", new Document("$size", new Document("$filter",
+                                new Document("input", orEmpty("$comments"))
+                                        .append("as", "comment")
+                                        .append("cond", new Document("$eq", List.of(sectionOf("$$comment"), "$$section")))))))));
+    }
+
+    private String collectionName() {
+        return mongoTemplate.getCollectionName(PostDocument.class);
+    }
+
+    private String archiveCollectionName() {
+        return mongoTemplate.getCollectionName(ArchivedPostDocument.class);
+    }
+
+    private static Document sectionOf(String comment) {
+        return new Document("$ifNull", List.of(comment + ".section", PostCommentSection.AVIS.getValue()));
+    }
+
+    private static Document orEmpty(Object expression) {
+        return new Document("$ifNull", List.of(expression, List.of()));
+    }
+}
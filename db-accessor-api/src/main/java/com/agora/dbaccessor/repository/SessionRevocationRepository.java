@@ -0,0 +1,15 @@
+package com.agora.dbaccessor.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.agora.dbaccessor.model.SessionRevocationDocument;
+
+public interface SessionRevocationRepository extends MongoRepository<SessionRevocationDocument, String> {
+
+    List<SessionRevocationDocument> findByRevokedAtAfter(Instant revokedAt);
+
+    List<SessionRevocationDocument> findByExpiresAtAfter(Instant expiresAt);
+}
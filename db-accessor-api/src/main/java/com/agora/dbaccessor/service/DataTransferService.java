@@ -0,0 +1,15 @@
+package com.agora.dbaccessor.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.agora.dbaccessor.generated.model.ImportReport;
+import com.agora.dbaccessor.transfer.TransferCollection;
+
+public interface DataTransferService {
+
+    void exportCollection(TransferCollection collection, String afterId, OutputStream output) throws IOException;
+
+    ImportReport importCollection(TransferCollection collection, InputStream input) throws IOException;
+}
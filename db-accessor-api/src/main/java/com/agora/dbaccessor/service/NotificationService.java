@@ -0,0 +1,12 @@
+package com.agora.dbaccessor.service;
+
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadRequest;
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadResult;
+import com.agora.dbaccessor.generated.model.NotificationPage;
+
+public interface NotificationService {
+
+    NotificationPage listNotifications(String userId, Integer page, Integer size);
+
+    MarkNotificationsReadResult markRead(String userId, MarkNotificationsReadRequest request);
+}
@@ -6,7 +6,10 @@ import com.agora.dbaccessor.generated.model.CreatePostCommentReplyRequest;
 import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
 import com.agora.dbaccessor.generated.model.CreatePostRequest;
 import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.generated.model.PostCommentReplyPage;
+import com.agora.dbaccessor.generated.model.PostSummaryPage;
 import com.agora.dbaccessor.generated.model.TogglePostLikeRequest;
+import com.agora.dbaccessor.generated.model.UserCommentPage;
 
 public interface PostService {
 
@@ -14,6 +17,12 @@ public interface PostService {
 
     Post getPost(String postId);
 
+    /**
+     * Loads a post with only the comments of {@code section}, or every comment
+     * when it is {@code null}.
+     */
+    Post getPost(String postId, String section);
+
     Post createPost(CreatePostRequest request);
 
     Post findPostBySourceUrl(String sourceUrl);
@@ -23,4 +32,10 @@ public interface PostService {
     Post addComment(String postId, CreatePostCommentRequest request);
 
     Post addCommentReply(String postId, String commentId, CreatePostCommentReplyRequest request);
+
+    PostCommentReplyPage listCommentReplies(String postId, String commentId, String after, Integer limit);
+
+    PostSummaryPage listPostsLikedBy(String userId, Integer page, Integer size);
+
+    UserCommentPage listCommentsBy(String userId, Integer page, Integer size);
 }
@@ -12,5 +12,7 @@ public interface SessionService {
 
     User validateSession(String tokenHash);
 
+    User validateSignedSession(String signedToken);
+
     void deleteSessionsForUser(String userId);
 }
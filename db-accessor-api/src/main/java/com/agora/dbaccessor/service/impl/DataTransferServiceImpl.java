@@ -0,0 +1,195 @@
+package com.agora.dbaccessor.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.config.DataTransferProperties;
+import com.agora.dbaccessor.generated.model.ImportReport;
+import com.agora.dbaccessor.service.DataTransferService;
+import com.agora.dbaccessor.transfer.ExtendedJsonCodec;
+import com.agora.dbaccessor.transfer.TransferCollection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+
+@Service
+public class DataTransferServiceImpl implements DataTransferService {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {
+    };
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final PostCache postCache;
+    private final int batchSize;
+
+    public DataTransferServiceImpl(
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            PostCache postCache,
+            DataTransferProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.postCache = postCache;
+        this.batchSize = Math.max(1, properties.batchSize());
+    }
+
+    @Override
+    public void exportCollection(TransferCollection collection, String afterId, OutputStream output) throws IOException {
+        Bson filter = afterId != null && !afterId.isBlank()
+                ? Filters.gt("_id", toIdentifier(afterId.trim()))
+                : Filters.empty();
+        Bson projection = collection.excludedFields().isEmpty()
+                ? null
+                : Projections.exclude(collection.excludedFields());
+
+        MongoCollection<Document> documents = mongoTemplate.getCollection(collection.collectionName());
+
+        try (MongoCursor<Document> cursor = documents.find(filter)
+                .projection(projection)
+                .sort(Sorts.ascending("_id"))
+                .batchSize(batchSize)
+                .cursor();
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            while (cursor.hasNext()) {
+                ExtendedJsonCodec.write(generator, cursor.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    @Override
+    public ImportReport importCollection(TransferCollection collection, InputStream input) throws IOException {
+        MongoCollection<Document> documents = mongoTemplate.getCollection(collection.collectionName());
+        List<WriteModel<Document>> batch = new ArrayList<>(batchSize);
+        List<Object> ids = new ArrayList<>(batchSize);
+        long imported = 0;
+
+        try (MappingIterator<Map<String, Object>> lines = objectMapper.readerFor(JSON_OBJECT).readValues(input)) {
+            while (lines.hasNextValue()) {
+                Document document = ExtendedJsonCodec.toDocument(lines.nextValue());
+                ids.add(document.get("_id"));
+                batch.add(toUpsert(document));
+
+                if (batch.size() >= batchSize) {
+                    imported += write(collection, documents, batch, ids, imported);
+                }
+            }
+        } catch (JsonProcessingException | IllegalArgumentException | DateTimeException | ClassCastException exception) {
+            // Malformed values surface from the extended JSON decoding as parse, format or cast failures.
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed document after " + imported + " imported");
+        }
+
+        imported += write(collection, documents, batch, ids, imported);
+
+        return new ImportReport()
+                .collection(collection.collectionName())
+                .imported(imported);
+    }
+
+    /**
+     * The upsert written for one imported line, also explained by the query plan guardrail.
+     */
+    public static UpdateOneModel<Document> toUpsert(Document document) {
+        Object id = document.remove("_id");
+
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Document identifier is required");
+        }
+
+        // $set keeps fields absent from the export, such as password hashes.
+        return new UpdateOneModel<>(Filters.eq("_id", id), new Document("$set", document), new UpdateOptions().upsert(true));
+    }
+
+    /**
+     * Writes one batch. A rejected line fails the import with its line number,
+     * after the rest of the unordered batch has been applied; lines are
+     * upserts, so re-sending the whole file once it is fixed resumes safely.
+     */
+    private long write(
+            TransferCollection collection,
+            MongoCollection<Document> documents,
+            List<WriteModel<Document>> batch,
+            List<Object> ids,
+            long imported) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            documents.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        } catch (MongoBulkWriteException exception) {
+            invalidateCachedPosts(collection, ids);
+            throw rejected(exception, imported);
+        }
+
+        invalidateCachedPosts(collection, ids);
+
+        long written = batch.size();
+        batch.clear();
+        ids.clear();
+        return written;
+    }
+
+    private void invalidateCachedPosts(TransferCollection collection, List<Object> ids) {
+        // Imported posts replace what every replica may have cached, archived ones included.
+        if (collection == TransferCollection.POSTS || collection == TransferCollection.POSTS_ARCHIVE) {
+            ids.forEach(id -> postCache.invalidate(id.toString()));
+        }
+    }
+
+    /**
+     * Duplicate keys, such as a source URL already taken, are conflicts; any
+     * other rejection, such as an identifier of the wrong type, is a bad line.
+     */
+    private static ResponseStatusException rejected(MongoBulkWriteException exception, long imported) {
+        List<BulkWriteError> errors = exception.getWriteErrors();
+        boolean conflicts = errors.stream().allMatch(error -> error.getCategory() == ErrorCategory.DUPLICATE_KEY);
+        String lines = errors.stream()
+                .limit(10)
+                .map(error -> (imported + error.getIndex() + 1) + " (" + error.getMessage() + ")")
+                .collect(Collectors.joining(", "));
+        BulkWriteResult result = exception.getWriteResult();
+
+        return new ResponseStatusException(conflicts ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST,
+                errors.size() + " line(s) rejected after " + imported + " imported: " + lines
+                        + "; the rest of their batch was applied (" + result.getUpserts().size() + " inserted, "
+                        + result.getMatchedCount() + " updated)");
+    }
+
+    private Object toIdentifier(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
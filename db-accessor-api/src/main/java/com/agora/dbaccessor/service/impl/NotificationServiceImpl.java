@@ -0,0 +1,82 @@
+package com.agora.dbaccessor.service.impl;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadRequest;
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadResult;
+import com.agora.dbaccessor.generated.model.Notification;
+import com.agora.dbaccessor.generated.model.NotificationPage;
+import com.agora.dbaccessor.mapper.NotificationMapper;
+import com.agora.dbaccessor.repository.NotificationRepository;
+import com.agora.dbaccessor.service.NotificationService;
+import com.agora.dbaccessor.service.impl.Pagination.PageWindow;
+
+@Service
+@Transactional(readOnly = true)
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final int MAX_MARKED_IDS = 100;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final Pagination pagination;
+
+    public NotificationServiceImpl(
+            NotificationRepository notificationRepository,
+            NotificationMapper notificationMapper,
+            Pagination pagination) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.pagination = pagination;
+    }
+
+    @Override
+    public NotificationPage listNotifications(String userId, Integer page, Integer size) {
+        String recipientId = requireUserId(userId);
+        PageWindow window = pagination.window(page, size);
+
+        List<Notification> fetched = notificationRepository.findByRecipient(recipientId, window.skip(), window.limit())
+                .stream()
+                .map(notificationMapper::map)
+                .toList();
+
+        return new NotificationPage()
+                .items(window.items(fetched))
+                .page(window.index())
+                .size(window.size())
+                .hasMore(window.hasMore(fetched))
+                .unreadCount(notificationRepository.unreadCount(recipientId));
+    }
+
+    @Override
+    @Transactional
+    public MarkNotificationsReadResult markRead(String userId, MarkNotificationsReadRequest request) {
+        String recipientId = requireUserId(userId);
+        List<String> ids = request != null ? request.getNotificationIds() : null;
+
+        if (ids != null && ids.size() > MAX_MARKED_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_MARKED_IDS + " notifications can be marked at once");
+        }
+
+        long marked = ids != null
+                ? notificationRepository.markRead(recipientId, ids)
+                : notificationRepository.markAllRead(recipientId);
+
+        return new MarkNotificationsReadResult()
+                .marked(marked)
+                .unreadCount(notificationRepository.unreadCount(recipientId));
+    }
+
+    private String requireUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User identifier is required");
+        }
+        return userId.trim();
+    }
+}
@@ -0,0 +1,58 @@
+package com.agora.dbaccessor.service.impl;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.agora.dbaccessor.config.PaginationProperties;
+
+/**
+ * Validates page/size parameters against {@link PaginationProperties}.
+ */
+@Component
+class Pagination {
+
+    private final PaginationProperties properties;
+
+    Pagination(PaginationProperties properties) {
+        this.properties = properties;
+    }
+
+    PageWindow window(Integer page, Integer size) {
+        if (page != null && page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must not be negative");
+        }
+
+        if (size != null && (size < 1 || size > properties.maxPageSize())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Size must be between 1 and " + properties.maxPageSize());
+        }
+
+        return new PageWindow(page != null ? page : 0, size != null ? size : properties.defaultPageSize());
+    }
+
+    /**
+     * One page of a listing. Queries fetch {@link #limit()} entries, one more
+     * than the page holds, which tells whether a next page exists without counting.
+     */
+    record PageWindow(int index, int size) {
+
+        long skip() {
+            return (long) index * size;
+        }
+
+        int limit() {
+            return size + 1;
+        }
+
+        <T> List<T> items(List<T> fetched) {
+            return hasMore(fetched) ? fetched.subList(0, size) : fetched;
+        }
+
+        boolean hasMore(List<?> fetched) {
+            return fetched.size() > size;
+        }
+    }
+}
@@ -1,6 +1,14 @@
 package com.agora.dbaccessor.service.impl;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -8,65 +16,156 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.config.PostRepliesProperties;
 import com.agora.dbaccessor.generated.model.CreatePostCommentReplyRequest;
 import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
 import com.agora.dbaccessor.generated.model.CreatePostRequest;
 import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.generated.model.PostCommentReplyPage;
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.generated.model.PostSummary;
+import com.agora.dbaccessor.generated.model.PostSummaryPage;
 import com.agora.dbaccessor.generated.model.TogglePostLikeRequest;
+import com.agora.dbaccessor.generated.model.UserComment;
+import com.agora.dbaccessor.generated.model.UserCommentPage;
+import com.agora.dbaccessor.likes.LikeWriteBehindBuffer;
+import com.agora.dbaccessor.mapper.NotificationMapper;
 import com.agora.dbaccessor.mapper.PostMapper;
 import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.notifications.NotificationQueue;
 import com.agora.dbaccessor.repository.PostRepository;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.ReplySlice;
 import com.agora.dbaccessor.service.PostService;
+import com.agora.dbaccessor.service.impl.Pagination.PageWindow;
 
 @Service
 @Transactional(readOnly = true)
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final PostRepository postRepository;
     private final PostMapper postMapper;
+    private final PostCache postCache;
+    private final Optional<LikeWriteBehindBuffer> likeBuffer;
+    private final PostRepliesProperties repliesProperties;
+    private final PostArchive postArchive;
+    private final Optional<NotificationQueue> notificationQueue;
+    private final NotificationMapper notificationMapper;
+    private final Pagination pagination;
 
-    public PostServiceImpl(PostRepository postRepository, PostMapper postMapper) {
+    public PostServiceImpl(
+            PostRepository postRepository,
+            PostMapper postMapper,
+            PostCache postCache,
+            Optional<LikeWriteBehindBuffer> likeBuffer,
+            PostRepliesProperties repliesProperties,
+            PostArchive postArchive,
+            Optional<NotificationQueue> notificationQueue,
+            NotificationMapper notificationMapper,
+            Pagination pagination) {
         this.postRepository = postRepository;
         this.postMapper = postMapper;
+        this.postCache = postCache;
+        this.likeBuffer = likeBuffer;
+        this.repliesProperties = repliesProperties;
+        this.postArchive = postArchive;
+        this.notificationQueue = notificationQueue;
+        this.notificationMapper = notificationMapper;
+        this.pagination = pagination;
     }
 
     @Override
     public List<Post> listPosts() {
-        List<PostDocument> documents = postRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
-        return documents.stream()
+        // A post caught mid-move is in both tiers; the hot copy is the current one.
+        Map<String, PostDocument> posts = new LinkedHashMap<>();
+        postRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt")).forEach(post -> posts.put(post.id(), post));
+        postArchive.findAll().forEach(post -> posts.putIfAbsent(post.id(), post));
+
+        return posts.values()
+                .stream()
+                .sorted(Comparator.comparing(PostDocument::createdAt, Comparator.nullsLast(Comparator.reverseOrder())))
                 .map(postMapper::map)
                 .toList();
     }
 
     @Override
     public Post getPost(String id) {
-        PostDocument document = findPostDocument(id);
+        return postCache.getById(id, () -> {
+            PostDocument document = postRepository.findByIdWithReplyLimit(id, repliesProperties.inlineLimit())
+                    .or(() -> postArchive.findById(id))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
+            return postMapper.map(document);
+        });
+    }
+
+    @Override
+    public Post getPost(String id, String section) {
+        if (section == null || section.isBlank()) {
+            return getPost(id);
+        }
+
+        String value = toSection(section).getValue();
+        // Per-section views are not cached; each one is a small slice of the post.
+        PostDocument document = postRepository.findByIdInSection(id, value, repliesProperties.inlineLimit())
+                .or(() -> postArchive.findById(id).map(archived -> onlySection(archived, value)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
         return postMapper.map(document);
     }
 
+    /**
+     * Loads a post for a write, moving it back from the archive first if needed.
+     */
     private PostDocument findPostDocument(String id) {
         return postRepository.findById(id)
+                .or(() -> postArchive.restore(id))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
     }
 
+    /**
+     * Applies a change to the stored post. The write only lands while the post
+     * is hot; when the archiver moved it out since it was read, the post is
+     * restored and the change applied again to the restored copy.
+     */
+    private PostDocument update(String id, UnaryOperator<PostDocument> change) {
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            PostDocument document = change.apply(findPostDocument(id));
+
+            if (postRepository.replaceIfPresent(document)) {
+                postCache.invalidate(id);
+                return document;
+            }
+        }
+
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "Post is being archived, retry later");
+    }
+
     @Override
     @Transactional
     public Post createPost(CreatePostRequest request) {
         PostDocument mapped = postMapper.map(request);
 
-        if (postRepository.existsBySourceUrl(mapped.sourceUrl())) {
+        if (postRepository.existsBySourceUrl(mapped.sourceUrl()) || postArchive.existsBySourceUrl(mapped.sourceUrl())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Post with this source URL already exists");
         }
 
         PostDocument saved = postRepository.save(mapped);
+        postCache.invalidate(saved.id());
         return postMapper.map(saved);
     }
 
     @Override
     public Post findPostBySourceUrl(String sourceUrl) {
-        PostDocument document = postRepository.findBySourceUrl(sourceUrl)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
-        return postMapper.map(document);
+        return postCache.getBySourceUrl(sourceUrl, () -> {
+            PostDocument document = postRepository.findBySourceUrlWithReplyLimit(sourceUrl, repliesProperties.inlineLimit())
+                    .or(() -> postArchive.findBySourceUrl(sourceUrl))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
+            return postMapper.map(document);
+        });
     }
 
     @Override
@@ -74,40 +173,190 @@ public class PostServiceImpl implements PostService {
     public Post togglePostLike(String postId, TogglePostLikeRequest request) {
         String userId = request.getUserId().trim();
 
-        PostDocument document = findPostDocument(postId);
-        document.likedBy().stream()
-                .filter(id -> id.equals(userId))
-                .findFirst()
-                .ifPresentOrElse(
-                        id -> document.likedBy().remove(id),
-                        () -> document.likedBy().add(userId));
+        if (likeBuffer.isPresent()) {
+            Post current = getPost(postId);
+            // The cached post may predate the last flush, so the buffer reads the stored state itself.
+            Optional<Boolean> liked = likeBuffer.get().toggle(postId, userId, () -> isLikedInStore(postId, userId));
 
-        return postMapper.map(postRepository.save(document));
+            if (liked.isPresent()) {
+                return postMapper.withLike(current, userId, liked.get());
+            }
+        }
+
+        return postMapper.map(update(postId, document -> {
+            if (!document.likedBy().remove(userId)) {
+                document.likedBy().add(userId);
+            }
+            return active(document);
+        }));
+    }
+
+    /**
+     * Archived posts keep their likes until a flush restores them.
+     */
+    private boolean isLikedInStore(String postId, String userId) {
+        return postRepository.isLikedBy(postId, userId) || postArchive.isLikedBy(postId, userId);
     }
 
     @Override
     @Transactional
     public Post addComment(String postId, CreatePostCommentRequest request) {
-        PostDocument document = findPostDocument(postId);
-        document.comments().add(postMapper.map(request));
+        PostCommentDocument comment = postMapper.map(request);
 
-        return postMapper.map(postRepository.save(document));
+        return postMapper.map(update(postId, document -> {
+            document.comments().add(comment);
+            document.commentCounts().merge(comment.sectionOrDefault(), 1, Integer::sum);
+            return touch(document);
+        }));
     }
 
     @Override
     @Transactional
     public Post addCommentReply(String postId, String commentId, CreatePostCommentReplyRequest request) {
-        PostDocument document = findPostDocument(postId);
+        PostCommentReplyDocument reply = postMapper.map(commentId, request);
+        PostDocument document = update(postId, current -> {
+            findComment(current, commentId).replies().add(reply);
+            return touch(current);
+        });
+        PostCommentDocument comment = findComment(document, commentId);
 
-        if (!document.comments().stream().anyMatch(comment -> commentId.equals(comment.id()))) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Comment not found");
+        // Queued only once the reply is stored; the insert happens off the request thread.
+        if (comment.authorId() != null && !Objects.equals(comment.authorId(), reply.authorId())) {
+            notificationQueue.ifPresent(queue -> queue.publish(notificationMapper.map(document, comment, reply)));
         }
 
-        document.comments().stream()
-                .filter(comment -> commentId.equals(comment.id()))
+        return postMapper.map(document);
+    }
+
+    private PostCommentDocument findComment(PostDocument document, String commentId) {
+        return document.comments().stream()
+                .filter(candidate -> commentId.equals(candidate.id()))
                 .findFirst()
-                .ifPresent(comment -> comment.replies().add(postMapper.map(commentId, request)));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Comment not found"));
+    }
+
+    @Override
+    public PostCommentReplyPage listCommentReplies(String postId, String commentId, String after, Integer limit) {
+        String cursor = after != null && !after.isBlank() ? after.trim() : null;
+        int pageSize = limit != null ? limit : repliesProperties.defaultPageSize();
+
+        if (pageSize < 1 || pageSize > repliesProperties.maxPageSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + repliesProperties.maxPageSize());
+        }
+
+        ReplySlice slice = postRepository.findReplies(postId, commentId, cursor, pageSize)
+                .or(() -> postArchive.findReplies(postId, commentId, cursor, pageSize))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found"));
+
+        if (!slice.commentFound()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Comment not found");
+        }
+
+        if (cursor != null && slice.cursorIndex() < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        boolean hasMore = slice.cursorIndex() + 1 + slice.replies().size() < slice.total();
+        return postMapper.map(slice.replies(), hasMore);
+    }
+
+    @Override
+    public PostSummaryPage listPostsLikedBy(String userId, Integer page, Integer size) {
+        String normalised = requireUserId(userId);
+        PageWindow window = pagination.window(page, size);
+
+        List<PostSummary> fetched = postRepository.findLikedBy(normalised, window.skip(), window.limit())
+                .stream()
+                .map(postMapper::map)
+                .toList();
+
+        return new PostSummaryPage()
+                .items(window.items(fetched))
+                .page(window.index())
+                .size(window.size())
+                .hasMore(window.hasMore(fetched));
+    }
+
+    @Override
+    public UserCommentPage listCommentsBy(String userId, Integer page, Integer size) {
+        String normalised = requireUserId(userId);
+        PageWindow window = pagination.window(page, size);
+
+        List<UserComment> fetched = postArchive.withContent(postRepository.findCommentsBy(normalised, window.skip(), window.limit()))
+                .stream()
+                .map(postMapper::map)
+                .toList();
+
+        return new UserCommentPage()
+                .items(window.items(fetched))
+                .page(window.index())
+                .size(window.size())
+                .hasMore(window.hasMore(fetched));
+    }
+
+    private String requireUserId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User identifier is required");
+        }
+        return userId.trim();
+    }
+
+    private PostCommentSection toSection(String section) {
+        try {
+            return PostCommentSection.fromValue(section.trim());
+        } catch (IllegalArgumentException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown section");
+        }
+    }
+
+    /**
+     * Keeps the comments of one section; the counts still describe the whole post.
+     */
+    private PostDocument onlySection(PostDocument document, String section) {
+        return new PostDocument(
+                document.id(),
+                document.title(),
+                document.summary(),
+                document.sourceUrl(),
+                document.tags(),
+                document.createdAt(),
+                document.updatedAt(),
+                document.lastActivityAt(),
+                document.likedBy(),
+                document.comments().stream()
+                        .filter(comment -> section.equals(comment.sectionOrDefault()))
+                        .toList(),
+                document.commentCounts());
+    }
+
+    /**
+     * Marks comment activity, which keeps the post out of the archive.
+     */
+    private PostDocument touch(PostDocument document) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return withActivity(document, now, now.toInstant());
+    }
+
+    /**
+     * Marks like activity, which keeps the post out of the archive without changing its content date.
+     */
+    private PostDocument active(PostDocument document) {
+        return withActivity(document, document.updatedAt(), Instant.now());
+    }
 
-        return postMapper.map(postRepository.save(document));
+    private PostDocument withActivity(PostDocument document, OffsetDateTime updatedAt, Instant lastActivityAt) {
+        return new PostDocument(
+                document.id(),
+                document.title(),
+                document.summary(),
+                document.sourceUrl(),
+                document.tags(),
+                document.createdAt(),
+                updatedAt,
+                lastActivityAt,
+                document.likedBy(),
+                document.comments(),
+                document.commentCounts());
     }
 }
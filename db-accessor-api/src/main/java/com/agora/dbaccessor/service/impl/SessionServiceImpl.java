@@ -1,6 +1,9 @@
 package com.agora.dbaccessor.service.impl;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -17,6 +20,9 @@ import com.agora.dbaccessor.model.UserDocument;
 import com.agora.dbaccessor.repository.SessionRepository;
 import com.agora.dbaccessor.repository.UserRepository;
 import com.agora.dbaccessor.service.SessionService;
+import com.agora.dbaccessor.session.SessionRevocationList;
+import com.agora.dbaccessor.session.SessionTokenSigner;
+import com.agora.dbaccessor.session.SessionTokenSigner.SessionClaims;
 
 @Service
 @Transactional(readOnly = true)
@@ -26,16 +32,22 @@ public class SessionServiceImpl implements SessionService {
     private final SessionMapper sessionMapper;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final Optional<SessionTokenSigner> tokenSigner;
+    private final Optional<SessionRevocationList> revocations;
 
     public SessionServiceImpl(
             SessionRepository sessionRepository,
             SessionMapper sessionMapper,
             UserRepository userRepository,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            Optional<SessionTokenSigner> tokenSigner,
+            Optional<SessionRevocationList> revocations) {
         this.sessionRepository = sessionRepository;
         this.sessionMapper = sessionMapper;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.tokenSigner = tokenSigner;
+        this.revocations = revocations;
     }
 
     @Override
@@ -53,12 +65,21 @@ public class SessionServiceImpl implements SessionService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expiration date is required");
         }
 
-        userRepository.findById(request.getUserId())
+        UserDocument user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
         SessionDocument document = sessionMapper.toDocument(request);
         SessionDocument saved = sessionRepository.save(document);
-        return sessionMapper.toApi(saved);
+        Session session = sessionMapper.toApi(saved);
+        tokenSigner.ifPresent(signer -> session.setSignedToken(signer.sign(new SessionClaims(
+                saved.id(),
+                user.id(),
+                user.name(),
+                user.email(),
+                user.createdAt(),
+                saved.createdAt().toInstant().toEpochMilli(),
+                saved.expiresAt().toInstant().toEpochMilli()))));
+        return session;
     }
 
     @Override
@@ -70,12 +91,19 @@ public class SessionServiceImpl implements SessionService {
             return;
         }
 
+        // Signed tokens outlive the stored session, so the revocation must land before the delete.
+        revocations.ifPresent(list -> sessionRepository.findByTokenHash(normalised)
+                .ifPresent(session -> list.revokeSession(session.id(), session.userId(), expiry(session))));
         sessionRepository.deleteByTokenHash(normalised);
     }
 
     @Override
     public User validateSession(String tokenHash) {
-        String normalised = tokenHash != null ? tokenHash.trim() : "";
+        if (tokenHash == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token hash or signed token is required");
+        }
+
+        String normalised = tokenHash.trim();
 
         if (normalised.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
@@ -98,6 +126,27 @@ public class SessionServiceImpl implements SessionService {
         return userMapper.toApi(userDocument);
     }
 
+    @Override
+    public User validateSignedSession(String signedToken) {
+        SessionTokenSigner signer = tokenSigner
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Signed sessions are disabled"));
+        SessionClaims claims = signer.verify(signedToken.trim())
+                .filter(verified -> verified.exp() > System.currentTimeMillis())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+        SessionRevocationList revocationList = revocations.orElseThrow();
+
+        if (revocationList.isRevoked(claims.sid(), claims.uid(), Instant.ofEpochMilli(claims.iat()))
+                || (!revocationList.isFresh() && !sessionRepository.existsById(claims.sid()))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found");
+        }
+
+        return new User()
+                .id(claims.uid())
+                .name(claims.name())
+                .email(claims.email())
+                .createdAt(claims.createdAt());
+    }
+
     @Override
     @Transactional
     public void deleteSessionsForUser(String userId) {
@@ -107,6 +156,17 @@ public class SessionServiceImpl implements SessionService {
             return;
         }
 
+        revocations.ifPresent(list -> {
+            List<SessionDocument> sessions = sessionRepository.findByUserId(normalised);
+            sessions.stream()
+                    .map(this::expiry)
+                    .max(Instant::compareTo)
+                    .ifPresent(expiresAt -> list.revokeUser(normalised, expiresAt));
+        });
         sessionRepository.deleteByUserId(normalised);
     }
+
+    private Instant expiry(SessionDocument session) {
+        return session.expiresAt() != null ? session.expiresAt().toInstant() : Instant.now();
+    }
 }
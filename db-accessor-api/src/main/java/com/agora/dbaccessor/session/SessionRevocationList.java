@@ -0,0 +1,127 @@
+package com.agora.dbaccessor.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.agora.dbaccessor.model.SessionRevocationDocument;
+import com.agora.dbaccessor.repository.SessionRevocationRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory mirror of {@code session_revocations}. Only revoked signed
+ * sessions are held, and only until their tokens expire, so the set stays
+ * small enough to keep exact instead of approximating it with a Bloom filter.
+ * Revocations made by this replica apply immediately; peers pick them up on
+ * the next refresh. Polls overlap since applying a revocation is idempotent.
+ */
+public class SessionRevocationList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionRevocationList.class);
+
+    private final SessionRevocationRepository repository;
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final Map<String, Instant> revokedSessions = new ConcurrentHashMap<>();
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    public SessionRevocationList(
+            SessionRevocationRepository repository,
+            Duration refreshInterval,
+            Duration maxStaleness,
+            MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.refreshInterval = refreshInterval;
+        this.maxStaleness = maxStaleness;
+
+        Gauge.builder("agora.sessions.revocations", revokedSessions, Map::size)
+                .tag("scope", "session")
+                .register(meterRegistry);
+        Gauge.builder("agora.sessions.revocations", revokedUsers, Map::size)
+                .tag("scope", "user")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        Instant now = Instant.now();
+        repository.findByExpiresAtAfter(now).forEach(this::apply);
+        lastRefresh = now;
+    }
+
+    public void revokeSession(String sessionId, String userId, Instant expiresAt) {
+        SessionRevocationDocument revocation = new SessionRevocationDocument(null, sessionId, userId, Instant.now(), expiresAt);
+        apply(revocation);
+        repository.save(revocation);
+    }
+
+    public void revokeUser(String userId, Instant expiresAt) {
+        SessionRevocationDocument revocation = new SessionRevocationDocument(null, null, userId, Instant.now(), expiresAt);
+        apply(revocation);
+        repository.save(revocation);
+    }
+
+    public boolean isRevoked(String sessionId, String userId, Instant issuedAt) {
+        if (revokedSessions.containsKey(sessionId)) {
+            return true;
+        }
+
+        UserRevocation userRevocation = revokedUsers.get(userId);
+        return userRevocation != null && !issuedAt.isAfter(userRevocation.revokedAt());
+    }
+
+    /**
+     * False once refreshes have been failing for longer than the allowed
+     * staleness, in which case callers must confirm the session in the store.
+     */
+    public boolean isFresh() {
+        return lastRefresh.plus(maxStaleness).isAfter(Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${agora.sessions.signed.revocation-refresh-interval:1s}")
+    void refresh() {
+        Instant now = Instant.now();
+
+        try {
+            repository.findByRevokedAtAfter(lastRefresh.minus(refreshInterval.multipliedBy(2))).forEach(this::apply);
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Unable to refresh session revocations", exception);
+            return;
+        }
+
+        revokedSessions.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt().isBefore(now));
+        lastRefresh = now;
+    }
+
+    private void apply(SessionRevocationDocument revocation) {
+        if (revocation.sessionId() != null) {
+            revokedSessions.merge(revocation.sessionId(), revocation.expiresAt(),
+                    (current, candidate) -> current.isAfter(candidate) ? current : candidate);
+            return;
+        }
+
+        revokedUsers.merge(revocation.userId(), new UserRevocation(revocation.revokedAt(), revocation.expiresAt()),
+                (current, candidate) -> new UserRevocation(
+                        max(current.revokedAt(), candidate.revokedAt()),
+                        max(current.expiresAt(), candidate.expiresAt())));
+    }
+
+    private static Instant max(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private record UserRevocation(Instant revokedAt, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.agora.dbaccessor.session;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Issues and verifies {@code payload.signature} tokens, both parts base64url
+ * encoded, where the signature is an HMAC-SHA256 of the encoded payload.
+ * The payload carries everything {@code validateSession} returns, so a valid
+ * token needs no database read.
+ */
+public class SessionTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ObjectMapper objectMapper;
+    private final ThreadLocal<Mac> macs;
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final Base64.Decoder decoder = Base64.getUrlDecoder();
+
+    public SessionTokenSigner(byte[] secret, ObjectMapper objectMapper) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.objectMapper = objectMapper;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(SessionClaims claims) {
+        try {
+            String payload = encoder.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + encoder.encodeToString(mac(payload));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to serialise session claims", exception);
+        }
+    }
+
+    /**
+     * Returns the claims of a well-formed token with a valid signature. Expiry
+     * and revocation are left to the caller.
+     */
+    public Optional<SessionClaims> verify(String token) {
+        int separator = token != null ? token.indexOf('.') : -1;
+
+        if (separator <= 0 || separator != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        String payload = token.substring(0, separator);
+
+        try {
+            byte[] signature = decoder.decode(token.substring(separator + 1));
+
+            if (!MessageDigest.isEqual(signature, mac(payload))) {
+                return Optional.empty();
+            }
+
+            return Optional.of(objectMapper.readValue(decoder.decode(payload), SessionClaims.class));
+        } catch (IllegalArgumentException | IOException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", exception);
+        }
+    }
+
+    /**
+     * @param sid stored session identifier, used for revocation
+     * @param iat issue time in epoch milliseconds
+     * @param exp expiry in epoch milliseconds
+     */
+    public record SessionClaims(
+            String sid,
+            String uid,
+            String name,
+            String email,
+            OffsetDateTime createdAt,
+            long iat,
+            long exp) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.agora.dbaccessor.transfer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Converts BSON documents to and from the subset of MongoDB extended JSON
+ * needed to round-trip our collections without losing identifier, date,
+ * long or binary types.
+ */
+public final class ExtendedJsonCodec {
+
+    private ExtendedJsonCodec() {
+    }
+
+    public static void write(JsonGenerator generator, Object value) throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case Map<?, ?> map -> {
+                generator.writeStartObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    generator.writeFieldName(String.valueOf(entry.getKey()));
+                    write(generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case List<?> list -> {
+                generator.writeStartArray();
+                for (Object item : list) {
+                    write(generator, item);
+                }
+                generator.writeEndArray();
+            }
+            case String text -> generator.writeString(text);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Integer number -> generator.writeNumber(number);
+            case Double number -> generator.writeNumber(number);
+            case Long number -> writeWrapped(generator, "$numberLong", number.toString());
+            case Decimal128 number -> writeWrapped(generator, "$numberDecimal", number.toString());
+            case ObjectId objectId -> writeWrapped(generator, "$oid", objectId.toHexString());
+            case Date date -> writeWrapped(generator, "$date", date.toInstant().toString());
+            case Binary binary -> {
+                generator.writeStartObject();
+                generator.writeObjectFieldStart("$binary");
+                generator.writeStringField("base64", Base64.getEncoder().encodeToString(binary.getData()));
+                generator.writeStringField("subType", HexFormat.of().toHexDigits(binary.getType()));
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            default -> generator.writeString(value.toString());
+        }
+    }
+
+    public static Document toDocument(Map<String, Object> json) {
+        Document document = new Document();
+        json.forEach((key, value) -> document.put(key, decode(value)));
+        return document;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object decode(Object value) {
+        if (value instanceof List<?> list) {
+            List<Object> decoded = new ArrayList<>(list.size());
+            list.forEach(item -> decoded.add(decode(item)));
+            return decoded;
+        }
+
+        if (!(value instanceof Map<?, ?> map)) {
+            return value;
+        }
+
+        if (map.size() == 1) {
+            Map.Entry<?, ?> wrapper = map.entrySet().iterator().next();
+            Object wrapped = wrapper.getValue();
+
+            switch (String.valueOf(wrapper.getKey())) {
+                case "$oid":
+                    return new ObjectId(String.valueOf(wrapped));
+                case "$date":
+                    return Date.from(Instant.parse(String.valueOf(wrapped)));
+                case "$numberLong":
+                    return Long.parseLong(String.valueOf(wrapped));
+                case "$numberDecimal":
+                    return new Decimal128(new BigDecimal(String.valueOf(wrapped)));
+                case "$binary":
+                    Map<String, Object> binary = (Map<String, Object>) wrapped;
+                    return new Binary(
+                            (byte) HexFormat.fromHexDigits(String.valueOf(binary.get("subType"))),
+                            Base64.getDecoder().decode(String.valueOf(binary.get("base64"))));
+                default:
+                    break;
+            }
+        }
+
+        return toDocument((Map<String, Object>) map);
+    }
+
+    private static void writeWrapped(JsonGenerator generator, String type, String value) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(type, value);
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,40 @@
+package com.agora.dbaccessor.transfer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public enum TransferCollection {
+    POSTS("posts", List.of()),
+    POSTS_ARCHIVE("posts_archive", List.of()),
+    USERS("users", List.of("passwordHash")),
+    SESSIONS("sessions", List.of());
+
+    private final String collectionName;
+    private final List<String> excludedFields;
+
+    TransferCollection(String collectionName, List<String> excludedFields) {
+        this.collectionName = collectionName;
+        this.excludedFields = excludedFields;
+    }
+
+    public String collectionName() {
+        return collectionName;
+    }
+
+    /**
+     * Fields never written to an export, such as credentials.
+     */
+    public List<String> excludedFields() {
+        return excludedFields;
+    }
+
+    public static TransferCollection fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(collection -> collection.collectionName.equals(value))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown collection"));
+    }
+}
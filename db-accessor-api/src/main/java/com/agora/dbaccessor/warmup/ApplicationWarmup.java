@@ -0,0 +1,188 @@
+package com.agora.dbaccessor.warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.config.WarmupProperties;
+import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
+import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.mapper.PostMapper;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Runs before the readiness state switches to accepting traffic: opens the
+ * minimum Mongo pool and drives the mapping and serialisation paths past the
+ * JVM's top-tier compile threshold, so they are queued for C2 before the first
+ * real request. Compilation itself is asynchronous and may still be running
+ * when traffic arrives; {@code agora.startup.time-to-ready} and the load
+ * driver's convergence report show how long the tail takes to settle.
+ */
+@Component
+@ConditionalOnProperty(name = "agora.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class ApplicationWarmup implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationWarmup.class);
+    // HotSpot's default Tier4InvocationThreshold, for VMs that do not expose it.
+    private static final int DEFAULT_COMPILE_THRESHOLD = 5000;
+
+    private final WarmupProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final PostRepository postRepository;
+    private final PostMapper postMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final MeterRegistry meterRegistry;
+
+    public ApplicationWarmup(
+            WarmupProperties properties,
+            MongoTemplate mongoTemplate,
+            PostRepository postRepository,
+            PostMapper postMapper,
+            ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.postRepository = postRepository;
+        this.postMapper = postMapper;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+
+        boolean connected = openConnections();
+        exerciseMapping();
+
+        if (connected) {
+            exerciseReads();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        TimeGauge.builder("agora.startup.warmup", elapsed, TimeUnit.MILLISECONDS, Duration::toMillis)
+                .description("Time spent warming up before accepting traffic")
+                .register(meterRegistry);
+        LOGGER.info("Warmup completed in {} ms", elapsed.toMillis());
+    }
+
+    private boolean openConnections() throws InterruptedException {
+        // Concurrent pings force distinct pooled connections instead of reusing one.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Document>> pings = new ArrayList<>();
+
+            for (int i = 0; i < properties.mongoConnections(); i++) {
+                pings.add(executor.submit(() -> mongoTemplate.executeCommand(new Document("ping", 1))));
+            }
+
+            for (Future<Document> ping : pings) {
+                try {
+                    ping.get();
+                } catch (ExecutionException exception) {
+                    LOGGER.warn("Unable to open Mongo connection during warmup", exception.getCause());
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void exerciseMapping() throws IOException {
+        PostDocument document = samplePost();
+        String commentJson = objectMapper.writeValueAsString(new CreatePostCommentRequest()
+                .authorId("warmup")
+                .authorName("Warmup")
+                .content("Warmup comment"));
+
+        int iterations = properties.iterations() > 0 ? properties.iterations() : compileThreshold();
+        LOGGER.debug("Exercising mapping and serialisation {} times", iterations);
+
+        for (int i = 0; i < iterations; i++) {
+            Post post = postMapper.map(document);
+            objectMapper.readValue(objectMapper.writeValueAsBytes(post), Post.class);
+            cborMapper.readValue(cborMapper.writeValueAsBytes(post), Post.class);
+            postMapper.map(objectMapper.readValue(commentJson, CreatePostCommentRequest.class));
+        }
+    }
+
+    /**
+     * Invocations after which HotSpot compiles a method with C2: the tier 4
+     * threshold under tiered compilation, {@code CompileThreshold} without it.
+     */
+    private static int compileThreshold() {
+        try {
+            HotSpotDiagnosticMXBean vm = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            String option = Boolean.parseBoolean(vm.getVMOption("TieredCompilation").getValue())
+                    ? "Tier4InvocationThreshold"
+                    : "CompileThreshold";
+            return Integer.parseInt(vm.getVMOption(option).getValue());
+        } catch (IllegalArgumentException exception) {
+            return DEFAULT_COMPILE_THRESHOLD;
+        }
+    }
+
+    private void exerciseReads() {
+        try {
+            List<PostDocument> recent = postRepository.findAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))
+                    .getContent();
+            recent.forEach(postMapper::map);
+
+            if (!recent.isEmpty()) {
+                postRepository.findByIdWithReplyLimit(recent.getFirst().id(), 1).ifPresent(postMapper::map);
+            }
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Unable to warm up post reads", exception);
+        }
+    }
+
+    private PostDocument samplePost() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<PostCommentDocument> comments = new ArrayList<>();
+
+        for (int c = 0; c < 20; c++) {
+            List<PostCommentReplyDocument> replies = new ArrayList<>();
+
+            for (int r = 0; r < 5; r++) {
+                replies.add(new PostCommentReplyDocument("reply-" + c + "-" + r, "comment-" + c, "author", "Author", "Reply", now));
+            }
+
+            comments.add(new PostCommentDocument("comment-" + c, "avis", "author", "Author", "Comment", now, replies, null));
+        }
+
+        return new PostDocument("warmup", "Warmup", "Warmup post", "https://example.org/warmup",
+                List.of("warmup"), now, now, now.toInstant(), List.of("author"), comments, null);
+    }
+}
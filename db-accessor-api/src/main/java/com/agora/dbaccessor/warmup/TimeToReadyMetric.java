@@ -0,0 +1,50 @@
+package com.agora.dbaccessor.warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Publishes the time from JVM start to the first switch of the readiness
+ * state to accepting traffic. Unlike {@code agora.startup.warmup}, it covers
+ * JVM boot, class loading and context refresh as well, which is what AppCDS
+ * and AOT processing shorten.
+ */
+@Component
+public class TimeToReadyMetric {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimeToReadyMetric.class);
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean published = new AtomicBoolean();
+
+    public TimeToReadyMetric(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        // Readiness can flip back and forth later on; only the first switch is startup.
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || !published.compareAndSet(false, true)) {
+            return;
+        }
+
+        Duration timeToReady = Duration.ofMillis(
+                System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+        TimeGauge.builder("agora.startup.time-to-ready", timeToReady, TimeUnit.MILLISECONDS, Duration::toMillis)
+                .description("Time from JVM start to accepting traffic")
+                .register(meterRegistry);
+        LOGGER.info("Accepting traffic {} ms after JVM start", timeToReady.toMillis());
+    }
+}
@@ -0,0 +1,45 @@
+package com.agora.dbaccessor.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.agora.dbaccessor.admission.Bulkhead.Permit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkheadTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void callersBeyondTheWaiterCapAreRejectedWithoutWaiting() throws Exception {
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.POST_READS, 1, Duration.ofSeconds(10), 1, null, meterRegistry);
+        Optional<Permit> held = bulkhead.tryAcquire();
+        CompletableFuture<Optional<Permit>> waiter = CompletableFuture.supplyAsync(() -> acquire(bulkhead));
+
+        while (meterRegistry.get("agora.bulkhead.queued").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.tryAcquire()).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        held.orElseThrow().release();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isPresent();
+    }
+
+    private static Optional<Permit> acquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
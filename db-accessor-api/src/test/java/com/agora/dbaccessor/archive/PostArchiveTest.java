@@ -0,0 +1,173 @@
+package com.agora.dbaccessor.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReplaceOptions;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.agora.dbaccessor.config.PostArchiveProperties;
+import com.agora.dbaccessor.model.ArchivedPostDocument;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.repository.ArchivedPostRepository;
+import com.agora.dbaccessor.repository.PostRepository;
+import com.agora.dbaccessor.repository.PostRepositoryCustom.UserCommentProjection;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostArchiveTest {
+
+    private static final String POST_ID = "65a000000000000000000001";
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+    private final ArchivedPostRepository archiveRepository = mock(ArchivedPostRepository.class);
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final CommentTreeCodec codec = mock(CommentTreeCodec.class);
+
+    private PostArchive postArchive;
+
+    @BeforeEach
+    void setUp() {
+        when(codec.encode(anyList())).thenReturn(new byte[0]);
+        when(codec.decode(any())).thenReturn(List.of());
+        postArchive = new PostArchive(archiveRepository, postRepository, mongoTemplate, codec,
+                new PostArchiveProperties(true, Duration.ofDays(30), Duration.ofMinutes(10), 100, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void restoreLeavesTheArchiveCopyWhenThePostIsStillHot() {
+        // An archiver wrote its copy but has not removed the hot post yet.
+        PostDocument hot = post(List.of("user-1"));
+        when(archiveRepository.findById(POST_ID)).thenReturn(Optional.of(archived(Instant.now())));
+        when(postRepository.insert(any(PostDocument.class))).thenThrow(new DuplicateKeyException("posts._id"));
+        when(postRepository.findById(POST_ID)).thenReturn(Optional.of(hot));
+
+        assertThat(postArchive.restore(POST_ID)).contains(hot);
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(ArchivedPostDocument.class));
+        verify(archiveRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void restoreDeletesOnlyTheCopyItRestored() {
+        Instant archivedAt = Instant.parse("2024-02-01T00:00:00Z");
+        when(archiveRepository.findById(POST_ID)).thenReturn(Optional.of(archived(archivedAt)));
+
+        Optional<PostDocument> restored = postArchive.restore(POST_ID);
+
+        assertThat(restored).isPresent();
+        assertThat(restored.get().lastActivityAt()).isAfter(UPDATED_AT.toInstant());
+        Query removed = captureRemoved(ArchivedPostDocument.class);
+        assertThat(removed.getQueryObject()).containsEntry("_id", POST_ID).containsEntry("archivedAt", archivedAt);
+    }
+
+    @Test
+    void archiveLeavesAPostThatChangedSinceItWasRead() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(PostDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThat(postArchive.archive(post(List.of()))).isFalse();
+
+        verify(mongoTemplate, never()).replace(any(Query.class), any(ArchivedPostDocument.class), any(ReplaceOptions.class));
+        verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
+    }
+
+    @Test
+    void archiveDropsItsOwnCopyWhenAWriteLandsBeforeTheRemoval() {
+        claimSucceeds();
+        // The writer's replace cleared the claim between the copy and the removal.
+        when(mongoTemplate.remove(any(Query.class), eq(PostDocument.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        assertThat(postArchive.archive(post(List.of()))).isFalse();
+
+        ArgumentCaptor<ArchivedPostDocument> copy = ArgumentCaptor.forClass(ArchivedPostDocument.class);
+        verify(mongoTemplate).replace(any(Query.class), copy.capture(), any(ReplaceOptions.class));
+        Query removed = captureRemoved(ArchivedPostDocument.class);
+        assertThat(removed.getQueryObject()).containsEntry("archivedAt", copy.getValue().archivedAt());
+    }
+
+    @Test
+    void archiveBacksOffWhenALaterClaimWroteTheCopy() {
+        claimSucceeds();
+        when(mongoTemplate.replace(any(Query.class), any(ArchivedPostDocument.class), any(ReplaceOptions.class)))
+                .thenThrow(new DuplicateKeyException("posts_archive._id"));
+
+        assertThat(postArchive.archive(post(List.of()))).isFalse();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), any(Class.class));
+    }
+
+    @Test
+    void archiveRemovesTheHotPostWhileTheClaimHolds() {
+        claimSucceeds();
+        when(mongoTemplate.remove(any(Query.class), eq(PostDocument.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        assertThat(postArchive.archive(post(List.of()))).isTrue();
+
+        Query removed = captureRemoved(PostDocument.class);
+        assertThat(removed.getQueryObject()).containsKey(PostDocument.ARCHIVE_CLAIM);
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(ArchivedPostDocument.class));
+    }
+
+    @Test
+    void listingEntriesFromTheArchiveGetTheirContentFromTheCompressedTree() {
+        PostCommentReplyDocument reply = new PostCommentReplyDocument("reply-1", "comment-1", "user-1", "User", "Reply", UPDATED_AT);
+        when(archiveRepository.findById(POST_ID)).thenReturn(Optional.of(archived(Instant.now())));
+        when(codec.decode(any())).thenReturn(List.of(new PostCommentDocument(
+                "comment-1", null, "user-2", "Other", "Comment", UPDATED_AT, List.of(reply), null)));
+        UserCommentProjection hot = new UserCommentProjection(
+                "65a000000000000000000002", "Hot", "comment-2", null, null, "Hot comment", UPDATED_AT, false);
+        UserCommentProjection archived = new UserCommentProjection(
+                POST_ID, "Title", "reply-1", "comment-1", null, null, UPDATED_AT, true);
+
+        List<UserCommentProjection> filled = postArchive.withContent(List.of(hot, archived));
+
+        assertThat(filled).extracting(UserCommentProjection::content).containsExactly("Hot comment", "Reply");
+        verify(archiveRepository).findById(POST_ID);
+    }
+
+    private void claimSucceeds() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class), eq(PostDocument.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    private Query captureRemoved(Class<?> entityClass) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(query.capture(), eq(entityClass));
+        return query.getValue();
+    }
+
+    private static PostDocument post(List<String> likedBy) {
+        return new PostDocument(POST_ID, "Title", "Summary", "https://example.org/post", List.of(),
+                UPDATED_AT, UPDATED_AT, UPDATED_AT.toInstant(), likedBy, List.of(), null);
+    }
+
+    private static ArchivedPostDocument archived(Instant archivedAt) {
+        return new ArchivedPostDocument(POST_ID, "Title", "Summary", "https://example.org/post", List.of(),
+                UPDATED_AT, UPDATED_AT, List.of(), 0, new byte[0], List.of(), archivedAt);
+    }
+}
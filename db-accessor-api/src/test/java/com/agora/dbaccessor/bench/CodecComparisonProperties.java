@@ -0,0 +1,10 @@
+package com.agora.dbaccessor.bench;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.codec-comparison")
+public record CodecComparisonProperties(
+        @DefaultValue("20") int warmupIterations,
+        @DefaultValue("50") int iterations) {
+}
@@ -0,0 +1,137 @@
+package com.agora.dbaccessor.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.bench.SkewedDistributions.Zipf;
+import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.mapper.PostMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the JSON, CBOR and Smile encodings of a giant synthetic post as
+ * {@code getPost} returns it: payload size, raw and gzipped, and the thread
+ * CPU time of one encode and one decode. Uses the object mappers behind the
+ * HTTP converters and writes nothing to the database. Run with
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.profiles=codec-comparison}.
+ */
+@Component
+@Profile("codec-comparison")
+public class CodecComparisonRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodecComparisonRunner.class);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CodecComparisonProperties properties;
+    private final SyntheticDataGenerator generator;
+    private final SyntheticDataProperties syntheticData;
+    private final PostMapper postMapper;
+    private final Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+    private final ConfigurableApplicationContext context;
+
+    private long sink;
+
+    public CodecComparisonRunner(
+            CodecComparisonProperties properties,
+            SyntheticDataProperties syntheticData,
+            MongoTemplate mongoTemplate,
+            PostMapper postMapper,
+            ObjectMapper objectMapper,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.generator = new SyntheticDataGenerator(mongoTemplate, syntheticData, context);
+        this.syntheticData = syntheticData;
+        this.postMapper = postMapper;
+        this.context = context;
+        mappers.put("json", objectMapper);
+        mappers.put("cbor", cborConverter.getObjectMapper());
+        mappers.put("smile", smileConverter.getObjectMapper());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        RandomGenerator random = new SplittableRandom(syntheticData.seed());
+        List<String> userIds = Stream.generate(() -> new ObjectId().toHexString()).limit(syntheticData.users()).toList();
+        Post post = postMapper.map(generator.post(random, OffsetDateTime.now(ZoneOffset.UTC), 0, userIds,
+                new Zipf(userIds.size(), syntheticData.zipfExponent())));
+
+        LOGGER.info("Comparing encodings of a post with {} comments and {} likes over {} iterations",
+                post.getComments().size(), post.getLikedBy().size(), properties.iterations());
+        LOGGER.info(String.format("%-8s %12s %12s %14s %14s", "format", "bytes", "gzip bytes", "encode ms/op", "decode ms/op"));
+
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectMapper mapper = entry.getValue();
+            byte[] encoded = mapper.writeValueAsBytes(post);
+            Post decoded = mapper.readValue(encoded, Post.class);
+
+            if (decoded.getComments().size() != post.getComments().size()) {
+                throw new IllegalStateException(entry.getKey() + " did not round-trip the post");
+            }
+
+            measure(properties.warmupIterations(), () -> mapper.writeValueAsBytes(post));
+            measure(properties.warmupIterations(), () -> mapper.readValue(encoded, Post.class));
+            double encodeMillis = measure(properties.iterations(), () -> mapper.writeValueAsBytes(post));
+            double decodeMillis = measure(properties.iterations(), () -> mapper.readValue(encoded, Post.class));
+
+            LOGGER.info(String.format("%-8s %12d %12d %14.3f %14.3f",
+                    entry.getKey(), encoded.length, gzippedSize(encoded), encodeMillis, decodeMillis));
+        }
+
+        LOGGER.debug("Result checksum {}", sink);
+        SpringApplication.exit(context, () -> 0);
+    }
+
+    /**
+     * Returns the thread CPU time per run in milliseconds, so GC and other threads do not count.
+     */
+    private double measure(int iterations, Codec codec) throws IOException {
+        long start = THREADS.getCurrentThreadCpuTime();
+
+        for (int i = 0; i < iterations; i++) {
+            // Keeps the results observable so the work cannot be optimised away.
+            sink += System.identityHashCode(codec.run());
+        }
+
+        return (double) (THREADS.getCurrentThreadCpuTime() - start) / Math.max(1, iterations) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static int gzippedSize(byte[] encoded) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        return compressed.size();
+    }
+
+    @FunctionalInterface
+    private interface Codec {
+        Object run() throws IOException;
+    }
+}
@@ -0,0 +1,34 @@
+package com.agora.dbaccessor.bench;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param convergenceWindow width of the windows the p99 convergence report
+ *        splits the run into, starting when the instance turns ready
+ */
+@ConfigurationProperties("agora.load-test")
+public record LoadTestProperties(
+        @DefaultValue("http://localhost:8080") URI baseUrl,
+        @DefaultValue("15s") Duration warmup,
+        @DefaultValue("60s") Duration duration,
+        @DefaultValue("5s") Duration convergenceWindow,
+        @DefaultValue("0.01") double maxErrorRatio,
+        @DefaultValue("1000") int sampleSize,
+        Map<String, OperationBudget> operations) {
+
+    public LoadTestProperties {
+        operations = operations != null ? Map.copyOf(operations) : Map.of();
+    }
+
+    /**
+     * @param rate requests per second, started on schedule whether or not earlier ones completed
+     * @param p99 latency budget for the 99th percentile
+     */
+    public record OperationBudget(double rate, Duration p99) {
+    }
+}
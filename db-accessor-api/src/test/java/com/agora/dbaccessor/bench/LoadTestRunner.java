@@ -0,0 +1,535 @@
+package com.agora.dbaccessor.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.bench.LoadTestProperties.OperationBudget;
+import com.agora.dbaccessor.generated.model.CreatePostCommentReplyRequest;
+import com.agora.dbaccessor.generated.model.CreatePostCommentRequest;
+import com.agora.dbaccessor.generated.model.CreatePostRequest;
+import com.agora.dbaccessor.generated.model.CreateSessionRequest;
+import com.agora.dbaccessor.generated.model.CreateUserRequest;
+import com.agora.dbaccessor.generated.model.MarkNotificationsReadRequest;
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.generated.model.TogglePostLikeRequest;
+import com.agora.dbaccessor.generated.model.ValidateSessionRequest;
+import com.agora.dbaccessor.model.NotificationDocument;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.SessionDocument;
+import com.agora.dbaccessor.model.UserDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives every API operation against a running instance at a fixed arrival
+ * rate and fails when a p99 exceeds its budget. Requests start on schedule
+ * whether or not earlier ones completed, and latency is measured from the
+ * scheduled start, so a stalled server shows up as queueing instead of being
+ * hidden by a slower request rate. Targets are sampled from the database the
+ * instance under test reads, typically one filled by
+ * {@link SyntheticDataGenerator}.
+ * <p>
+ * The driver waits for the instance to report ready and starts the clock
+ * there, so when both are started together the convergence report shows how
+ * long after readiness each p99 takes to settle within its budget. Budgets are
+ * only enforced after {@code warmup}. Test-scoped, so it stays out of the
+ * production jar; run with
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.profiles=load-test}.
+ */
+@Component
+@Profile("load-test")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int GIANT_POSTS = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(5);
+
+    private final LoadTestProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ConfigurableApplicationContext context;
+    private final HttpClient httpClient;
+
+    public LoadTestRunner(
+            LoadTestProperties properties,
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        Map<String, Function<Targets, HttpRequest>> operations = operations();
+        Map<String, OperationBudget> budgets = new LinkedHashMap<>();
+
+        for (String name : properties.operations().keySet()) {
+            if (!operations.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation in agora.load-test.operations: " + name);
+            }
+        }
+
+        operations.keySet().forEach(name -> {
+            OperationBudget budget = properties.operations().get(name);
+
+            if (budget == null || budget.rate() <= 0) {
+                LOGGER.warn("Operation {} has no arrival rate and is not driven", name);
+            } else {
+                budgets.put(name, budget);
+            }
+        });
+
+        Targets targets = sampleTargets();
+        awaitReady();
+        Map<String, OperationResult> results = drive(operations, budgets, targets);
+        List<String> violations = report(budgets, results);
+        reportConvergence(budgets, results);
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Latency budgets exceeded: " + violations);
+        }
+
+        SpringApplication.exit(context, () -> 0);
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+
+        while (!ready()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Instance at " + properties.baseUrl() + " not ready after " + READY_TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+
+        try {
+            JsonNode timeToReady = objectMapper.readTree(httpClient.send(
+                    get("/actuator/metrics/agora.startup.time-to-ready"), BodyHandlers.ofString()).body());
+            LOGGER.info("Instance ready {} {} after JVM start", timeToReady.path("measurements").path(0).path("value").asText("?"),
+                    timeToReady.path("baseUnit").asText(""));
+        } catch (IOException exception) {
+            LOGGER.warn("Unable to read the instance's time to ready", exception);
+        }
+    }
+
+    private boolean ready() throws InterruptedException {
+        try {
+            return httpClient.send(get("/actuator/health/readiness"), BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    private Map<String, OperationResult> drive(
+            Map<String, Function<Targets, HttpRequest>> operations,
+            Map<String, OperationBudget> budgets,
+            Targets targets) throws InterruptedException {
+        Map<String, OperationResult> results = new LinkedHashMap<>();
+        long warmupNanos = properties.warmup().toNanos();
+        long endNanos = warmupNanos + properties.duration().toNanos();
+        long windowNanos = properties.convergenceWindow().toNanos();
+        int windows = (int) ((endNanos + windowNanos - 1) / windowNanos);
+        long origin = System.nanoTime();
+
+        LOGGER.info("Driving {} operations against {} for {} after {} of warmup",
+                budgets.size(), properties.baseUrl(), properties.duration(), properties.warmup());
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> pacers = new ArrayList<>();
+
+            budgets.forEach((name, budget) -> {
+                Function<Targets, HttpRequest> operation = operations.get(name);
+                OperationResult result = new OperationResult(windows);
+                long interval = (long) (TimeUnit.SECONDS.toNanos(1) / budget.rate());
+                results.put(name, result);
+
+                pacers.add(Thread.ofVirtual().name("load-" + name).start(() -> {
+                    for (long offset = 0; offset < endNanos; offset += interval) {
+                        long scheduled = origin + offset;
+                        int window = (int) (offset / windowNanos);
+                        boolean measured = offset >= warmupNanos;
+                        LockSupport.parkNanos(scheduled - System.nanoTime());
+                        requests.submit(() -> send(operation.apply(targets), scheduled, result, window, measured));
+                    }
+                }));
+            });
+
+            for (Thread pacer : pacers) {
+                pacer.join();
+            }
+        }
+
+        return results;
+    }
+
+    private void send(HttpRequest request, long scheduled, OperationResult result, int window, boolean measured) {
+        boolean failed;
+
+        try {
+            failed = httpClient.send(request, BodyHandlers.discarding()).statusCode() >= 500;
+        } catch (IOException exception) {
+            failed = true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        result.record(System.nanoTime() - scheduled, failed, window, measured);
+    }
+
+    private List<String> report(Map<String, OperationBudget> budgets, Map<String, OperationResult> results) {
+        List<String> violations = new ArrayList<>();
+        LOGGER.info(String.format("%-24s %8s %8s %10s %10s %10s %10s %10s %8s",
+                "operation", "rate/s", "count", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "budget ms", "errors"));
+
+        budgets.forEach((name, budget) -> {
+            OperationResult result = results.get(name);
+            Histogram histogram = result.histogram;
+            long count = histogram.getTotalCount();
+            long errors = result.errors.sum();
+            double p99 = millis(histogram.getValueAtPercentile(99.0));
+
+            LOGGER.info(String.format("%-24s %8.2f %8d %10.2f %10.2f %10.2f %10.2f %10d %8d",
+                    name, budget.rate(), count, millis(histogram.getValueAtPercentile(50.0)), p99,
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                    budget.p99().toMillis(), errors));
+
+            if (count == 0) {
+                LOGGER.warn("Operation {} completed no measured request, raise its rate or the duration", name);
+            } else if (p99 > budget.p99().toMillis()) {
+                violations.add(String.format("%s p99 %.2f ms > %d ms", name, p99, budget.p99().toMillis()));
+            }
+
+            if (count > 0 && (double) errors / count > properties.maxErrorRatio()) {
+                violations.add(String.format("%s error ratio %d/%d", name, errors, count));
+            }
+        });
+
+        return violations;
+    }
+
+    /**
+     * Logs each operation's p99 per window since readiness, and the time from
+     * which every later window stays within budget. A convergence later than
+     * {@code warmup} means the budgeted measurement still includes the tail.
+     */
+    private void reportConvergence(Map<String, OperationBudget> budgets, Map<String, OperationResult> results) {
+        Duration window = properties.convergenceWindow();
+        LOGGER.info("p99 ms per {} window since ready:", window);
+
+        budgets.forEach((name, budget) -> {
+            Histogram[] windows = results.get(name).windows;
+            StringBuilder p99s = new StringBuilder();
+            int converged = windows.length;
+
+            for (int i = windows.length - 1; i >= 0; i--) {
+                if (windows[i].getTotalCount() > 0 && millis(windows[i].getValueAtPercentile(99.0)) > budget.p99().toMillis()) {
+                    break;
+                }
+                converged = i;
+            }
+            for (Histogram histogram : windows) {
+                p99s.append(histogram.getTotalCount() > 0
+                        ? String.format(" %8.2f", millis(histogram.getValueAtPercentile(99.0)))
+                        : String.format(" %8s", "-"));
+            }
+
+            Duration convergedAfter = window.multipliedBy(converged);
+            LOGGER.info(String.format("%-24s %-16s%s", name, converged < windows.length
+                    ? "settled " + convergedAfter.toSeconds() + "s"
+                    : "never settled", p99s));
+
+            if (convergedAfter.compareTo(properties.warmup()) > 0) {
+                LOGGER.warn("Operation {} settled within budget only after {}, beyond the {} warmup",
+                        name, converged < windows.length ? convergedAfter : "the run", properties.warmup());
+            }
+        });
+    }
+
+    private Map<String, Function<Targets, HttpRequest>> operations() {
+        Map<String, Function<Targets, HttpRequest>> operations = new LinkedHashMap<>();
+
+        operations.put("listPosts", targets -> get("/posts"));
+        operations.put("createPost", targets -> post("/posts", new CreatePostRequest()
+                .title("Load test post")
+                .summary("Created by the load test")
+                .sourceUrl(URI.create("https://load-test.agora/" + UUID.randomUUID()))
+                .tags(List.of("load-test"))));
+        operations.put("getPost", targets -> get("/posts/" + targets.postIdOrGiant()));
+        operations.put("togglePostLike", targets -> post("/posts/" + pick(targets.postIds()) + "/like",
+                new TogglePostLikeRequest().userId(pick(targets.userIds()))));
+        operations.put("addPostComment", targets -> post("/posts/" + pick(targets.postIds()) + "/comments",
+                new CreatePostCommentRequest()
+                        .section(PostCommentSection.DEBATE)
+                        .authorId(pick(targets.userIds()))
+                        .authorName("Load test")
+                        .content("Comment created by the load test")));
+        operations.put("addPostCommentReply", targets -> {
+            CommentTarget comment = pick(targets.comments());
+            return post("/posts/" + comment.postId() + "/comments/" + comment.commentId() + "/reply",
+                    new CreatePostCommentReplyRequest()
+                            .authorId(pick(targets.userIds()))
+                            .authorName("Load test")
+                            .content("Reply created by the load test"));
+        });
+        operations.put("listPostCommentReplies", targets -> {
+            CommentTarget comment = pick(targets.comments());
+            return get("/posts/" + comment.postId() + "/comments/" + comment.commentId() + "/replies");
+        });
+        operations.put("findPostBySourceUrl", targets -> get("/posts/source?sourceUrl=" + encode(pick(targets.sourceUrls()))));
+        operations.put("createUser", targets -> post("/users", new CreateUserRequest()
+                .name("Load test")
+                .email("load-test-" + UUID.randomUUID() + "@synthetic.agora")
+                .passwordHash("load-test")));
+        operations.put("getUserByEmail", targets -> get("/users?email=" + encode(pick(targets.emails()))));
+        operations.put("getUser", targets -> get("/users/" + pick(targets.userIds())));
+        // A fresh id keeps the sampled users' sessions intact while still exercising the userId lookup.
+        operations.put("deleteUserSessions", targets -> delete("/users/" + new ObjectId().toHexString() + "/sessions"));
+        operations.put("listUserLikedPosts", targets -> get("/users/" + pick(targets.userIds()) + "/likes"));
+        operations.put("listUserComments", targets -> get("/users/" + pick(targets.userIds()) + "/comments"));
+        operations.put("listUserNotifications", targets -> get("/users/" + targets.notificationRecipient() + "/notifications"));
+        operations.put("markUserNotificationsRead", targets -> {
+            if (targets.notifications().isEmpty()) {
+                // Without stored notifications, mark-all still exercises the unread counter.
+                return post("/users/" + pick(targets.userIds()) + "/notifications/read", new MarkNotificationsReadRequest());
+            }
+
+            NotificationTarget notification = pick(targets.notifications());
+            return post("/users/" + notification.recipientId() + "/notifications/read",
+                    new MarkNotificationsReadRequest().notificationIds(List.of(notification.notificationId())));
+        });
+        operations.put("createSession", targets -> {
+            String tokenHash = UUID.randomUUID().toString();
+            targets.createdTokenHashes().add(tokenHash);
+            return post("/sessions", new CreateSessionRequest()
+                    .userId(pick(targets.userIds()))
+                    .tokenHash(tokenHash)
+                    .expiresAt(OffsetDateTime.now().plusHours(1)));
+        });
+        operations.put("deleteSession", targets -> {
+            String tokenHash = targets.createdTokenHashes().poll();
+            return delete("/sessions/" + (tokenHash != null ? tokenHash : UUID.randomUUID().toString()));
+        });
+        operations.put("validateSession", targets -> post("/sessions/validate",
+                new ValidateSessionRequest().tokenHash(pick(targets.tokenHashes()))));
+        operations.put("exportCollection", targets -> get("/admin/export/users"));
+        operations.put("importCollection", targets -> request("/admin/import/users")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .POST(BodyPublishers.ofString(new Document("_id", new Document("$oid", new ObjectId().toHexString()))
+                        .append("name", "Load test")
+                        .append("email", "load-test-" + UUID.randomUUID() + "@synthetic.agora")
+                        .append("createdAt", OffsetDateTime.now().toString())
+                        .toJson() + "\n"))
+                .build());
+
+        return operations;
+    }
+
+    private Targets sampleTargets() {
+        int size = properties.sampleSize();
+        List<String> postIds = new ArrayList<>();
+        List<String> sourceUrls = new ArrayList<>();
+        List<CommentTarget> comments = new ArrayList<>();
+
+        for (Document post : sample(PostDocument.class, size, new Document("sourceUrl", 1)
+                .append("commentId", new Document("$arrayElemAt", List.of("$comments.id", 0))))) {
+            String postId = post.get("_id").toString();
+            postIds.add(postId);
+
+            if (post.getString("sourceUrl") != null) {
+                sourceUrls.add(post.getString("sourceUrl"));
+            }
+            if (post.getString("commentId") != null) {
+                comments.add(new CommentTarget(postId, post.getString("commentId")));
+            }
+        }
+
+        List<String> giantPostIds = new ArrayList<>();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(PostDocument.class))
+                .aggregate(List.of(
+                        new Document("$project", new Document("comments",
+                                new Document("$size", new Document("$ifNull", List.of("$comments", List.of()))))),
+                        new Document("$sort", new Document("comments", -1)),
+                        new Document("$limit", GIANT_POSTS)))
+                .forEach(post -> giantPostIds.add(post.get("_id").toString()));
+
+        List<String> userIds = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (Document user : sample(UserDocument.class, size, new Document("email", 1))) {
+            userIds.add(user.get("_id").toString());
+            emails.add(user.getString("email"));
+        }
+
+        List<String> tokenHashes = sample(SessionDocument.class, size, new Document("tokenHash", 1)).stream()
+                .map(session -> session.getString("tokenHash"))
+                .toList();
+
+        // Synthetic data has no notifications; they accumulate from the replies the load test itself writes.
+        List<NotificationTarget> notifications = sample(NotificationDocument.class, size, new Document("recipientId", 1)).stream()
+                .map(notification -> new NotificationTarget(notification.getString("recipientId"), notification.get("_id").toString()))
+                .toList();
+
+        if (postIds.isEmpty() || comments.isEmpty() || userIds.isEmpty() || tokenHashes.isEmpty()) {
+            throw new IllegalStateException("Load test needs posts with comments, users and sessions, run the synthetic-data profile first");
+        }
+
+        LOGGER.info("Sampled {} posts, {} comments, {} users, {} sessions and {} notifications as targets",
+                postIds.size(), comments.size(), userIds.size(), tokenHashes.size(), notifications.size());
+        return new Targets(postIds, giantPostIds, sourceUrls, comments, userIds, emails, tokenHashes, notifications,
+                new ConcurrentLinkedQueue<>());
+    }
+
+    private List<Document> sample(Class<?> entityType, int size, Document projection) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityType))
+                .aggregate(List.of(new Document("$sample", new Document("size", size)), new Document("$project", projection)))
+                .into(new ArrayList<>());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return request(path)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(properties.baseUrl().resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private record CommentTarget(String postId, String commentId) {
+    }
+
+    private record NotificationTarget(String recipientId, String notificationId) {
+    }
+
+    private record Targets(
+            List<String> postIds,
+            List<String> giantPostIds,
+            List<String> sourceUrls,
+            List<CommentTarget> comments,
+            List<String> userIds,
+            List<String> emails,
+            List<String> tokenHashes,
+            List<NotificationTarget> notifications,
+            Queue<String> createdTokenHashes) {
+
+        /**
+         * One read in ten hits one of the largest posts, which dominate mapping and BSON decode cost.
+         */
+        String postIdOrGiant() {
+            return !giantPostIds.isEmpty() && ThreadLocalRandom.current().nextInt(10) == 0
+                    ? pick(giantPostIds)
+                    : pick(postIds);
+        }
+
+        String notificationRecipient() {
+            return !notifications.isEmpty() ? pick(notifications).recipientId() : pick(userIds);
+        }
+    }
+
+    private static final class OperationResult {
+
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram[] windows;
+        private final LongAdder errors = new LongAdder();
+
+        OperationResult(int windows) {
+            this.windows = new Histogram[windows];
+            for (int i = 0; i < windows; i++) {
+                this.windows[i] = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+            }
+        }
+
+        /**
+         * Every request counts towards its convergence window, only measured ones towards the budget.
+         */
+        void record(long nanos, boolean failed, int window, boolean measured) {
+            long micros = Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos));
+            windows[window].recordValue(micros);
+
+            if (!measured) {
+                return;
+            }
+
+            histogram.recordValue(micros);
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+}
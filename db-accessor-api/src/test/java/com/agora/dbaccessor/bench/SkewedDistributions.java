@@ -0,0 +1,47 @@
+package com.agora.dbaccessor.bench;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+final class SkewedDistributions {
+
+    private SkewedDistributions() {
+    }
+
+    /**
+     * Pareto sample with scale 1 shifted down to start at zero, so most posts
+     * get a handful of comments while a few get thousands.
+     */
+    static int pareto(RandomGenerator random, double alpha, int max) {
+        double sample = Math.pow(1 - random.nextDouble(), -1 / alpha) - 1;
+        return (int) Math.min(max, Math.floor(sample));
+    }
+
+    /**
+     * Zipf distribution over ranks {@code 0..size-1}, sampled by binary search
+     * over the precomputed cumulative weights.
+     */
+    static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int size, double exponent) {
+            this.cumulative = new double[Math.max(1, size)];
+            double total = 0;
+
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        int sample(RandomGenerator random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.agora.dbaccessor.bench;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.agora.dbaccessor.bench.SkewedDistributions.Zipf;
+import com.agora.dbaccessor.generated.model.PostCommentSection;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentDocument;
+import com.agora.dbaccessor.model.PostDocument.PostCommentReplyDocument;
+import com.agora.dbaccessor.model.SessionDocument;
+import com.agora.dbaccessor.model.UserDocument;
+
+/**
+ * Fills the configured database with production-shaped data and exits:
+ * Pareto-distributed comment and reply counts, Zipf-distributed likes and
+ * authorship, a few posts close to the document size limit and millions of
+ * sessions. Generation is deterministic for a given seed. Run against an
+ * empty database with
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.profiles=synthetic-data}.
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    private static final long YEAR_SECONDS = TimeUnit.DAYS.toSeconds(365);
+    private static final long SESSION_SECONDS = TimeUnit.DAYS.toSeconds(30);
+    private static final int MAX_BATCH_ENTRIES = 50_000;
+    private static final PostCommentSection[] SECTIONS = PostCommentSection.values();
+    private static final String[] WORDS = {
+            "agora", "debate", "source", "analysis", "question", "proposal", "evidence", "policy", "city",
+            "budget", "vote", "council", "report", "claim", "context", "data", "public", "transport",
+            "housing", "energy", "climate", "school", "health", "tax", "reform", "review", "study",
+            "argument", "opinion", "because", "however", "therefore", "the", "a", "of", "and", "to", "in"};
+
+    private final MongoTemplate mongoTemplate;
+    private final SyntheticDataProperties properties;
+    private final ConfigurableApplicationContext context;
+    private final HexFormat hex = HexFormat.of();
+
+    public SyntheticDataGenerator(
+            MongoTemplate mongoTemplate,
+            SyntheticDataProperties properties,
+            ConfigurableApplicationContext context) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RandomGenerator random = new SplittableRandom(properties.seed());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+
+        List<String> userIds = generateUsers(random, now);
+        Zipf activity = new Zipf(userIds.size(), properties.zipfExponent());
+
+        generatePosts(random, now, userIds, activity);
+        generateSessions(random, now, userIds, activity);
+
+        SpringApplication.exit(context, () -> 0);
+    }
+
+    private List<String> generateUsers(RandomGenerator random, OffsetDateTime now) {
+        long start = System.nanoTime();
+        List<String> userIds = new ArrayList<>(properties.users());
+        List<UserDocument> batch = new ArrayList<>(properties.batchSize());
+
+        for (int i = 0; i < properties.users(); i++) {
+            String id = new ObjectId().toHexString();
+            userIds.add(id);
+            batch.add(new UserDocument(id, "User " + i, "user" + i + "@synthetic.agora",
+                    "$2a$10$" + randomHex(random, 26), pastInstant(random, now, YEAR_SECONDS)));
+
+            if (batch.size() == properties.batchSize()) {
+                insert(batch, UserDocument.class);
+            }
+        }
+
+        insert(batch, UserDocument.class);
+        logDone("users", userIds.size(), start);
+        return userIds;
+    }
+
+    private void generatePosts(RandomGenerator random, OffsetDateTime now, List<String> userIds, Zipf activity) {
+        long start = System.nanoTime();
+        List<PostDocument> batch = new ArrayList<>();
+        int batchEntries = 0;
+
+        for (int i = 0; i < properties.posts(); i++) {
+            PostDocument post = post(random, now, i, userIds, activity);
+            batch.add(post);
+            batchEntries += 1 + post.comments().stream().mapToInt(comment -> 1 + comment.replies().size()).sum();
+
+            if (batch.size() == properties.batchSize() || batchEntries >= MAX_BATCH_ENTRIES) {
+                insert(batch, PostDocument.class);
+                batchEntries = 0;
+            }
+        }
+
+        insert(batch, PostDocument.class);
+        logDone("posts", properties.posts(), start);
+    }
+
+    /**
+     * Builds the {@code index}-th post; the first {@code giantPosts} ones carry the maximum comment count.
+     */
+    PostDocument post(RandomGenerator random, OffsetDateTime now, int index, List<String> userIds, Zipf activity) {
+        OffsetDateTime createdAt = pastInstant(random, now, YEAR_SECONDS);
+        boolean giant = index < properties.giantPosts();
+        int commentCount = giant
+                ? properties.maxCommentsPerPost()
+                : SkewedDistributions.pareto(random, properties.commentParetoAlpha(), properties.maxCommentsPerPost());
+        List<PostCommentDocument> comments = comments(random, now, createdAt, commentCount, userIds, activity);
+        // Popularity follows generation order, so the giant posts are also the most liked.
+        int likeCount = (int) Math.min(userIds.size(), properties.maxLikesPerPost() / Math.pow(index + 1, properties.zipfExponent()));
+        OffsetDateTime updatedAt = comments.isEmpty() ? createdAt : comments.getLast().createdAt();
+
+        return new PostDocument(new ObjectId().toHexString(), sentence(random, 4, 12), sentence(random, 20, 60),
+                "https://synthetic.agora/articles/" + index, List.of(WORDS[random.nextInt(WORDS.length)]),
+                createdAt, updatedAt, updatedAt.toInstant(), likers(random, likeCount, userIds, activity), comments, null);
+    }
+
+    private List<PostCommentDocument> comments(
+            RandomGenerator random,
+            OffsetDateTime now,
+            OffsetDateTime postCreatedAt,
+            int count,
+            List<String> userIds,
+            Zipf activity) {
+        long postAge = Math.max(1, now.toEpochSecond() - postCreatedAt.toEpochSecond());
+        List<PostCommentDocument> comments = new ArrayList<>(count);
+        int entries = 0;
+
+        for (int c = 0; c < count && entries < properties.maxEntriesPerPost(); c++) {
+            String commentId = UUID.randomUUID().toString();
+            OffsetDateTime createdAt = pastInstant(random, now, random.nextLong(postAge));
+            int replyCount = Math.min(properties.maxEntriesPerPost() - entries - 1,
+                    SkewedDistributions.pareto(random, properties.replyParetoAlpha(), properties.maxRepliesPerComment()));
+            long commentAge = Math.max(1, now.toEpochSecond() - createdAt.toEpochSecond());
+            List<PostCommentReplyDocument> replies = new ArrayList<>(Math.max(0, replyCount));
+
+            for (int r = 0; r < replyCount; r++) {
+                int author = activity.sample(random);
+                replies.add(new PostCommentReplyDocument(UUID.randomUUID().toString(), commentId, userIds.get(author),
+                        "User " + author, sentence(random, 5, 60), pastInstant(random, now, random.nextLong(commentAge))));
+            }
+
+            replies.sort(Comparator.comparing(PostCommentReplyDocument::createdAt));
+            int author = activity.sample(random);
+            comments.add(new PostCommentDocument(commentId, SECTIONS[random.nextInt(SECTIONS.length)].toString(),
+                    userIds.get(author), "User " + author, sentence(random, 5, 80), createdAt, replies, null));
+            entries += 1 + replies.size();
+        }
+
+        comments.sort(Comparator.comparing(PostCommentDocument::createdAt));
+        return comments;
+    }
+
+    private List<String> likers(RandomGenerator random, int count, List<String> userIds, Zipf activity) {
+        Set<String> likers = new LinkedHashSet<>();
+
+        // Active users like first; uniform picks fill in once the head of the distribution is exhausted.
+        for (int attempt = 0; likers.size() < count && attempt < count * 3; attempt++) {
+            likers.add(userIds.get(activity.sample(random)));
+        }
+
+        while (likers.size() < count) {
+            likers.add(userIds.get(random.nextInt(userIds.size())));
+        }
+
+        return new ArrayList<>(likers);
+    }
+
+    private void generateSessions(RandomGenerator random, OffsetDateTime now, List<String> userIds, Zipf activity) {
+        long start = System.nanoTime();
+        List<SessionDocument> batch = new ArrayList<>(properties.batchSize());
+
+        for (int i = 0; i < properties.sessions(); i++) {
+            OffsetDateTime createdAt = pastInstant(random, now, SESSION_SECONDS * 2);
+            batch.add(new SessionDocument(null, randomHex(random, 32), userIds.get(activity.sample(random)),
+                    createdAt, createdAt.plusSeconds(SESSION_SECONDS)));
+
+            if (batch.size() == properties.batchSize()) {
+                insert(batch, SessionDocument.class);
+            }
+        }
+
+        insert(batch, SessionDocument.class);
+        logDone("sessions", properties.sessions(), start);
+    }
+
+    private <T> void insert(List<T> batch, Class<T> type) {
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, type);
+            batch.clear();
+        }
+    }
+
+    private OffsetDateTime pastInstant(RandomGenerator random, OffsetDateTime now, long maxAgeSeconds) {
+        return now.minusSeconds(random.nextLong(Math.max(1, maxAgeSeconds)));
+    }
+
+    private String sentence(RandomGenerator random, int minWords, int maxWords) {
+        int words = random.nextInt(minWords, maxWords + 1);
+        StringBuilder sentence = new StringBuilder();
+
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+
+        return sentence.toString();
+    }
+
+    private String randomHex(RandomGenerator random, int bytes) {
+        byte[] value = new byte[bytes];
+        random.nextBytes(value);
+        return hex.formatHex(value);
+    }
+
+    private void logDone(String collection, int count, long start) {
+        LOGGER.info("Generated {} {} in {} ms", count, collection, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
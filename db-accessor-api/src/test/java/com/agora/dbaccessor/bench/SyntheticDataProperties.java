@@ -0,0 +1,21 @@
+package com.agora.dbaccessor.bench;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("agora.synthetic-data")
+public record SyntheticDataProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("50000") int users,
+        @DefaultValue("20000") int posts,
+        @DefaultValue("20") int giantPosts,
+        @DefaultValue("2000000") int sessions,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("1.16") double commentParetoAlpha,
+        @DefaultValue("5000") int maxCommentsPerPost,
+        @DefaultValue("1.5") double replyParetoAlpha,
+        @DefaultValue("500") int maxRepliesPerComment,
+        @DefaultValue("20000") int maxEntriesPerPost,
+        @DefaultValue("1.07") double zipfExponent,
+        @DefaultValue("20000") int maxLikesPerPost) {
+}
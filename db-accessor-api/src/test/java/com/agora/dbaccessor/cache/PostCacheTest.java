@@ -0,0 +1,114 @@
+package com.agora.dbaccessor.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.agora.dbaccessor.config.PostCacheProperties;
+import com.agora.dbaccessor.generated.model.Post;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PostCacheTest {
+
+    private static final String POST_ID = "65a000000000000000000001";
+    private static final String OTHER_POST_ID = "65a000000000000000000002";
+
+    @Test
+    void writesToAnotherPostDoNotStopALoadFromBeingCached() {
+        PostCache cache = cache(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getById(POST_ID, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(OTHER_POST_ID);
+            return new Post().id(POST_ID);
+        });
+        cache.getById(POST_ID, counting(loads));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void aLoadRacingAWriteToItsPostIsNotCached() {
+        PostCache cache = cache(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getById(POST_ID, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(POST_ID);
+            return new Post().id(POST_ID);
+        });
+        cache.getById(POST_ID, counting(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void callersArrivingAfterAWriteDoNotJoinTheEarlierLoad() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostCache cache = cache(false, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Post> first = CompletableFuture.supplyAsync(() -> cache.getById(POST_ID, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return new Post().id(POST_ID);
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Another post's write leaves the flight joinable; this post's write closes it.
+        cache.invalidate(OTHER_POST_ID);
+        CompletableFuture<Post> joined = CompletableFuture.supplyAsync(() -> cache.getById(POST_ID, counting(loads)));
+        while (meterRegistry.counter("agora.singleflight.coalesced", "name", "posts.id").count() < 1) {
+            Thread.onSpinWait();
+        }
+        cache.invalidate(POST_ID);
+        Post afterWrite = cache.getById(POST_ID, counting(loads));
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        joined.get(5, TimeUnit.SECONDS);
+
+        assertThat(afterWrite.getId()).isEqualTo(POST_ID);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static PostCache cache(boolean enabled) {
+        return cache(enabled, new SimpleMeterRegistry());
+    }
+
+    private static PostCache cache(boolean enabled, SimpleMeterRegistry meterRegistry) {
+        PostCacheProperties properties = new PostCacheProperties(
+                enabled,
+                100,
+                Duration.ofMinutes(1),
+                new PostCacheProperties.Invalidation(PostCacheProperties.Transport.LOCAL, Duration.ofSeconds(1), Duration.ofMinutes(10)));
+        return new PostCache(properties, new NoOpSharedPostCache(), new LocalPostCacheInvalidationBus(), meterRegistry);
+    }
+
+    private static Supplier<Post> counting(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return new Post().id(POST_ID);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.agora.dbaccessor.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Starts the application against the database of the {@code query-plans}
+ * Maven profile with the guardrail enabled and fails on any violation.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "agora.mongo.indexes.create-on-startup=true",
+        "agora.mongo.indexes.plan-guardrail=true",
+        "agora.warmup.enabled=false"})
+class QueryPlanGuardrailIT {
+
+    @Autowired
+    private QueryPlanGuardrail guardrail;
+
+    @Test
+    void everyRepositoryQueryIsIndexBacked() {
+        assertThat(guardrail.violations()).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package com.agora.dbaccessor.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class QueryPlanGuardrailTest {
+
+    @Test
+    void dropsSessionFieldsFromCapturedCommands() {
+        BsonDocument find = BsonDocument.parse("""
+                {"find": "posts", "filter": {"sourceUrl": "x"}, "limit": 2,
+                 "$db": "agora", "lsid": {"id": 1}, "$readPreference": {"mode": "primary"}}""");
+
+        assertThat(QueryPlanGuardrail.explainable(find))
+                .containsExactly(BsonDocument.parse("""
+                        {"find": "posts", "filter": {"sourceUrl": "x"}, "limit": 2}"""));
+    }
+
+    @Test
+    void splitsMultiStatementUpdates() {
+        BsonDocument update = BsonDocument.parse("""
+                {"update": "posts", "ordered": false, "writeConcern": {"w": 1},
+                 "updates": [{"q": {"_id": 1}, "u": {"$set": {"a": 1}}}, {"q": {"_id": 2}, "u": {"$set": {"a": 2}}}]}""");
+
+        assertThat(QueryPlanGuardrail.explainable(update))
+                .extracting(command -> command.getArray("updates").size())
+                .containsExactly(1, 1);
+    }
+
+    @Test
+    void collectsWinningPlansAndInMemoryPipelineSorts() {
+        Document explain = Document.parse("""
+                {"stages": [
+                    {"$cursor": {"queryPlanner": {
+                        "winningPlan": {"stage": "FETCH", "inputStage": {"stage": "IXSCAN"}},
+                        "rejectedPlans": [{"stage": "COLLSCAN"}]}}},
+                    {"$sort": {"sortKey": {"createdAt": -1}}}]}""");
+        Set<String> stages = new TreeSet<>();
+
+        QueryPlanGuardrail.collectStages(explain, false, stages);
+
+        assertThat(stages).isEqualTo(Set.of("FETCH", "IXSCAN", "$sort"));
+    }
+
+    @Test
+    void findsCollectionScansBelowSlotBasedPlans() {
+        Document explain = Document.parse("""
+                {"queryPlanner": {"winningPlan": {
+                    "queryPlan": {"stage": "SORT", "inputStage": {"stage": "COLLSCAN"}},
+                    "slotBasedPlan": {"stages": "[1] sort ..."}}}}""");
+        Set<String> stages = new TreeSet<>();
+
+        QueryPlanGuardrail.collectStages(explain, false, stages);
+
+        assertThat(stages).containsAll(List.of("SORT", "COLLSCAN"));
+    }
+
+    @Test
+    void findsSortsInUnionSubPipelinesButNotInTheEchoedCommand() {
+        Document explain = Document.parse("""
+                {"command": {"aggregate": "posts", "pipeline": [{"$sort": {"createdAt": -1}}, {"$limit": 1}]},
+                 "stages": [
+                    {"$cursor": {"queryPlanner": {"winningPlan": {"stage": "IXSCAN"}}}},
+                    {"$unionWith": {"coll": "posts_archive", "pipeline": [
+                        {"$cursor": {"queryPlanner": {"winningPlan": {"stage": "COLLSCAN"}}}}]}}]}""");
+        Set<String> stages = new TreeSet<>();
+
+        QueryPlanGuardrail.collectStages(explain, false, stages);
+
+        assertThat(stages).isEqualTo(Set.of("IXSCAN", "COLLSCAN"));
+    }
+}
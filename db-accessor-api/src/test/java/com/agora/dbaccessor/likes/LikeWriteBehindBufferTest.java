@@ -0,0 +1,53 @@
+package com.agora.dbaccessor.likes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.repository.PostRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LikeWriteBehindBufferTest {
+
+    private static final String POST_ID = "65a000000000000000000001";
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final LikeWriteBehindBuffer buffer = new LikeWriteBehindBuffer(
+            postRepository, mock(PostArchive.class), mock(PostCache.class), 1, new SimpleMeterRegistry());
+
+    @Test
+    void readsTheStoredStateOnlyWhenNothingIsBuffered() {
+        AtomicInteger reads = new AtomicInteger();
+        BooleanSupplier notLiked = () -> {
+            reads.incrementAndGet();
+            return false;
+        };
+
+        assertThat(buffer.toggle(POST_ID, "user-1", notLiked)).contains(true);
+        assertThat(buffer.toggle(POST_ID, "user-1", notLiked)).contains(false);
+        assertThat(buffer.toggle(POST_ID, "user-1", notLiked)).contains(true);
+
+        // The second toggle cancelled the first, so the third read the store again.
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void togglesAfterAFlushStartFromTheStoredState() {
+        when(postRepository.applyLikeChanges(anyCollection())).thenReturn(Set.of());
+        buffer.toggle(POST_ID, "user-1", () -> false);
+        buffer.flush();
+
+        // A stale caller would still believe the post is not liked; the store says it is.
+        assertThat(buffer.toggle(POST_ID, "user-1", () -> true)).contains(false);
+    }
+}
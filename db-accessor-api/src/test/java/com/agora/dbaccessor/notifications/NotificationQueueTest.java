@@ -0,0 +1,91 @@
+package com.agora.dbaccessor.notifications;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import com.agora.dbaccessor.model.NotificationDocument;
+import com.agora.dbaccessor.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class NotificationQueueTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationQueue queue = new NotificationQueue(notificationRepository, 10, 10, meterRegistry);
+
+    @Test
+    void counterBumpThatFailsAfterTheInsertIsRetriedOnTheNextFlush() {
+        List<NotificationDocument> batch = List.of(notification("user-1"), notification("user-1"), notification("user-2"));
+        batch.forEach(queue::publish);
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificationRepository.incrementUnread(anyMap()))
+                .thenThrow(new DataAccessResourceFailureException("counter write failed"))
+                .thenReturn(Map.of());
+
+        queue.flush();
+
+        // Stored, so not counted as lost; the increments wait for the next flush instead.
+        assertThat(meterRegistry.get("agora.notifications.failed").counter().count()).isZero();
+        assertThat(meterRegistry.get("agora.notifications.counter.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("agora.notifications.uncounted").gauge().value()).isEqualTo(3);
+
+        queue.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Long>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(notificationRepository, times(2)).incrementUnread(increments.capture());
+        assertThat(increments.getValue()).containsOnly(Map.entry("user-1", 2L), Map.entry("user-2", 1L));
+        assertThat(meterRegistry.get("agora.notifications.uncounted").gauge().value()).isZero();
+    }
+
+    @Test
+    void onlyTheRejectedIncrementsAreResent() {
+        queue.publish(notification("user-1"));
+        queue.publish(notification("user-2"));
+        when(notificationRepository.insertBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(notificationRepository.incrementUnread(anyMap()))
+                .thenReturn(Map.of("user-2", 1L))
+                .thenReturn(Map.of());
+
+        queue.flush();
+        queue.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Long>> increments = ArgumentCaptor.forClass(Map.class);
+        verify(notificationRepository, times(2)).incrementUnread(increments.capture());
+        assertThat(increments.getValue()).containsOnly(Map.entry("user-2", 1L));
+    }
+
+    @Test
+    void rejectedInsertsAreCountedAsFailedAndNotCounted() {
+        NotificationDocument stored = notification("user-1");
+        queue.publish(stored);
+        queue.publish(notification("user-2"));
+        when(notificationRepository.insertBatch(anyList())).thenReturn(List.of(stored));
+        when(notificationRepository.incrementUnread(anyMap())).thenReturn(Map.of());
+
+        queue.flush();
+
+        assertThat(meterRegistry.get("agora.notifications.failed").counter().count()).isEqualTo(1);
+        verify(notificationRepository).incrementUnread(Map.of("user-1", 1L));
+    }
+
+    private static NotificationDocument notification(String recipientId) {
+        return new NotificationDocument(null, recipientId, "REPLY", "post-1", "Title", "comment-1", null,
+                "actor", "Actor", "Excerpt", OffsetDateTime.parse("2024-01-01T00:00:00Z"), false);
+    }
+}
@@ -0,0 +1,96 @@
+package com.agora.dbaccessor.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.config.DataTransferProperties;
+import com.agora.dbaccessor.transfer.TransferCollection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+
+class DataTransferServiceImplTest {
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> posts = mock(MongoCollection.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final PostCache postCache = mock(PostCache.class);
+    private final DataTransferServiceImpl service = new DataTransferServiceImpl(
+            mongoTemplate, new ObjectMapper(), postCache, new DataTransferProperties(2, Duration.ofMinutes(30)));
+
+    @Test
+    void duplicateKeysAreConflictsNamingTheRejectedLines() {
+        when(mongoTemplate.getCollection("posts")).thenReturn(posts);
+        // The second batch holds lines 3 and 4; line 4 reuses a taken source URL.
+        when(posts.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(BulkWriteResult.acknowledged(0, 2, 0, 0, List.of(), List.of()))
+                .thenThrow(bulkWriteFailure(11000, "E11000 duplicate key error"));
+
+        ResponseStatusException exception = catchThrowableOfType(
+                () -> service.importCollection(TransferCollection.POSTS, lines("a", "b", "c", "d")),
+                ResponseStatusException.class);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(exception.getReason())
+                .contains("after 2 imported")
+                .contains("4 (E11000 duplicate key error)")
+                .contains("1 inserted");
+        // Line 3 was written, so the cached copies of the whole batch are stale.
+        verify(postCache).invalidate("c");
+        verify(postCache).invalidate("d");
+    }
+
+    @Test
+    void otherRejectionsAreBadRequests() {
+        when(mongoTemplate.getCollection("posts")).thenReturn(posts);
+        when(posts.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(bulkWriteFailure(2, "Performing an update on the path '_id' would modify the immutable field"));
+
+        ResponseStatusException exception = catchThrowableOfType(
+                () -> service.importCollection(TransferCollection.POSTS, lines("a", "b")),
+                ResponseStatusException.class);
+
+        assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exception.getReason()).contains("after 0 imported: 2 (");
+    }
+
+    private static MongoBulkWriteException bulkWriteFailure(int code, String message) {
+        BulkWriteResult result = BulkWriteResult.acknowledged(0, 0, 0, 0,
+                List.of(new BulkWriteUpsert(0, new BsonString("c"))), List.of());
+        return new MongoBulkWriteException(result, List.of(new BulkWriteError(code, message, new BsonDocument(), 1)),
+                null, new ServerAddress(), Set.of());
+    }
+
+    private static ByteArrayInputStream lines(String... ids) {
+        StringBuilder ndjson = new StringBuilder();
+        for (String id : ids) {
+            ndjson.append("{\"_id\": \"").append(id).append("\", \"title\": \"Title\"}\n");
+        }
+        return new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.agora.dbaccessor.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+
+import com.agora.dbaccessor.archive.PostArchive;
+import com.agora.dbaccessor.cache.PostCache;
+import com.agora.dbaccessor.config.PaginationProperties;
+import com.agora.dbaccessor.config.PostRepliesProperties;
+import com.agora.dbaccessor.generated.model.Post;
+import com.agora.dbaccessor.generated.model.TogglePostLikeRequest;
+import com.agora.dbaccessor.mapper.NotificationMapper;
+import com.agora.dbaccessor.mapper.PostMapper;
+import com.agora.dbaccessor.model.PostDocument;
+import com.agora.dbaccessor.repository.PostRepository;
+
+class PostServiceImplTest {
+
+    private static final String POST_ID = "65a000000000000000000001";
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.parse("2024-01-01T00:00:00Z");
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostArchive postArchive = mock(PostArchive.class);
+    private final PostRepliesProperties repliesProperties = new PostRepliesProperties(20, 20, 100);
+    private final PostServiceImpl postService = new PostServiceImpl(
+            postRepository,
+            new PostMapper(repliesProperties),
+            mock(PostCache.class),
+            Optional.empty(),
+            repliesProperties,
+            postArchive,
+            Optional.empty(),
+            mock(NotificationMapper.class),
+            new Pagination(new PaginationProperties(20, 100)));
+
+    @Test
+    void likeLandsOnTheRestoredPostWhenArchivedBetweenReadAndWrite() {
+        // First read sees the hot post; the archiver moves it out before the write.
+        when(postRepository.findById(POST_ID))
+                .thenReturn(Optional.of(post(List.of("user-1"))))
+                .thenReturn(Optional.empty());
+        when(postArchive.restore(POST_ID)).thenReturn(Optional.of(post(List.of("user-1"))));
+        when(postRepository.replaceIfPresent(any(PostDocument.class))).thenReturn(false, true);
+
+        Post liked = postService.togglePostLike(POST_ID, new TogglePostLikeRequest().userId("user-2"));
+
+        assertThat(liked.getLikedBy()).containsExactly("user-1", "user-2");
+        ArgumentCaptor<PostDocument> written = ArgumentCaptor.forClass(PostDocument.class);
+        verify(postRepository, times(2)).replaceIfPresent(written.capture());
+        // The change is applied once to each copy read, never twice to the same one.
+        assertThat(written.getAllValues()).allSatisfy(document -> assertThat(document.likedBy()).containsExactly("user-1", "user-2"));
+        // Likes count as activity for the archiver without touching the content date.
+        assertThat(written.getValue().lastActivityAt()).isAfter(CREATED_AT.toInstant());
+        assertThat(written.getValue().updatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void listPostsMergesBothTiersNewestFirst() {
+        PostDocument hot = post("65a000000000000000000002", CREATED_AT.plusDays(2));
+        PostDocument archived = post("65a000000000000000000003", CREATED_AT.plusDays(1));
+        when(postRepository.findAll(any(Sort.class))).thenReturn(List.of(hot, post(List.of())));
+        // The first post is caught mid-move and still in both tiers.
+        when(postArchive.findAll()).thenReturn(List.of(archived, post(List.of("stale"))));
+
+        List<Post> posts = postService.listPosts();
+
+        assertThat(posts).extracting(Post::getId)
+                .containsExactly("65a000000000000000000002", "65a000000000000000000003", POST_ID);
+        assertThat(posts.get(2).getLikedBy()).isEmpty();
+    }
+
+    private static PostDocument post(List<String> likedBy) {
+        return new PostDocument(POST_ID, "Title", "Summary", "https://example.org/post", List.of(),
+                CREATED_AT, CREATED_AT, CREATED_AT.toInstant(), likedBy, List.of(), null);
+    }
+
+    private static PostDocument post(String id, OffsetDateTime createdAt) {
+        return new PostDocument(id, "Title", "Summary", "https://example.org/" + id, List.of(),
+                createdAt, createdAt, createdAt.toInstant(), List.of(), List.of(), null);
+    }
+}